@@ -5,6 +5,7 @@ plugins {
     idea
     checkstyle
     id("org.cadixdev.licenser") version "0.6.1"
+    id("me.champeau.jmh") version "0.6.6"
 }
 
 defaultTasks("clean", "updateLicenses", "build")
@@ -39,6 +40,11 @@ dependencies {
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.1.1")
 }
 
+// microbenchmarks (run with `./gradlew jmh`)
+jmh {
+    jmhVersion.set("1.35")
+}
+
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
     options.compilerArgs.add("-Xlint:all")
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.config;
+
+import net.caseif.flint.util.unsafe.BenchmarkUnsafeUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConfigNode} lookups as performed by implementations storing
+ * config values in hash maps keyed by node.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigNodeBenchmark {
+
+    private final Map<ConfigNode<?>, Object> config = new HashMap<>();
+
+    private ConfigNode<?> node;
+    private ConfigNode<?> otherNode;
+
+    @Setup
+    public void setup() {
+        BenchmarkUnsafeUtil.install();
+        config.put(ConfigNode.MAX_PLAYERS, 16);
+        config.put(ConfigNode.ALLOW_DAMAGE, false);
+        config.put(ConfigNode.ROLLBACK_ON_END, true);
+        config.put(ConfigNode.SPAWNING_MODE, ConfigNode.SPAWNING_MODE.getDefaultValue());
+        node = ConfigNode.ALLOW_DAMAGE;
+        otherNode = ConfigNode.ALLOW_FRIENDLY_FIRE;
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return node.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOther() {
+        return node.equals(otherNode);
+    }
+
+    @Benchmark
+    public Object lookupPresent() {
+        return config.get(node);
+    }
+
+    @Benchmark
+    public Object lookupAbsent() {
+        return config.get(otherNode);
+    }
+
+}
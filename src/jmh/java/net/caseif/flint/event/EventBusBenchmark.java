@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares posting a timer tick-like event, dispatched by interface type, to
+ * Guava's reflective {@link EventBus} and to {@link FlintEventBus}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBusBenchmark {
+
+    @Param({"1", "4"})
+    public int listeners;
+
+    private EventBus guavaBus;
+    private FlintEventBus flintBus;
+
+    private final TickEvent event = new TickEventImpl();
+    private Listener[] registered;
+
+    @Setup
+    public void setup() {
+        guavaBus = new EventBus();
+        flintBus = new FlintEventBus();
+        registered = new Listener[listeners];
+        for (int i = 0; i < listeners; i++) {
+            registered[i] = new Listener();
+            guavaBus.register(registered[i]);
+            flintBus.register(registered[i]);
+        }
+    }
+
+    @Benchmark
+    public long postGuava() {
+        guavaBus.post(event);
+        return registered[0].count;
+    }
+
+    @Benchmark
+    public long postFlint() {
+        flintBus.post(event);
+        return registered[0].count;
+    }
+
+    @Benchmark
+    public boolean hasSubscribersFlint() {
+        return flintBus.hasSubscribers(TickEventImpl.class);
+    }
+
+    public interface TickEvent {
+
+        long getNewTime();
+
+    }
+
+    private static class TickEventImpl implements TickEvent {
+
+        @Override
+        public long getNewTime() {
+            return 1;
+        }
+
+    }
+
+    public static class Listener {
+
+        private long count;
+
+        @Subscribe
+        public void onTick(TickEvent event) {
+            count += event.getNewTime();
+        }
+
+    }
+
+}
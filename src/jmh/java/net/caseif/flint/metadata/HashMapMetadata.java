@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.metadata;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A minimal in-memory {@link Metadata} implementation backed by a
+ * {@link HashMap}, used as a reference point for benchmarks.
+ */
+public class HashMapMetadata implements Metadata {
+
+    private final Map<String, Object> data = new HashMap<>();
+
+    @Override
+    public boolean containsKey(String key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return data.containsValue(value);
+    }
+
+    @Override
+    @Deprecated
+    public boolean has(String key) {
+        return containsKey(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(String key) throws ClassCastException {
+        return Optional.fromNullable((T) data.get(key));
+    }
+
+    @Override
+    public <T> void set(String key, T value) {
+        data.put(key, value);
+    }
+
+    @Override
+    public Metadata createStructure(String key) throws IllegalArgumentException {
+        checkArgument(!data.containsKey(key), "Key " + key + " is already set");
+        Metadata structure = new HashMapMetadata();
+        data.put(key, structure);
+        return structure;
+    }
+
+    @Override
+    public boolean remove(String key) {
+        if (!data.containsKey(key)) {
+            return false;
+        }
+        data.remove(key);
+        return true;
+    }
+
+    @Override
+    @Deprecated
+    public ImmutableSet<String> getAllKeys() {
+        return keySet();
+    }
+
+    @Override
+    public ImmutableSet<String> keySet() {
+        return ImmutableSet.copyOf(data.keySet());
+    }
+
+    @Override
+    public ImmutableCollection<?> values() {
+        return ImmutableList.copyOf(data.values());
+    }
+
+    @Override
+    public ImmutableSet<? extends Map.Entry<String, ?>> entrySet() {
+        return ImmutableSet.copyOf(data.entrySet());
+    }
+
+    @Override
+    public void clear() {
+        data.clear();
+    }
+
+}
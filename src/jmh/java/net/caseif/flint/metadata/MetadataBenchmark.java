@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.metadata;
+
+import com.google.common.base.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures metadata access through the {@link Metadata} interface using
+ * {@link HashMapMetadata} as a reference implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetadataBenchmark {
+
+    private static final int KEY_COUNT = 64;
+
+    private final String[] keys = new String[KEY_COUNT];
+
+    private Metadata metadata;
+    private int index;
+
+    @Setup
+    public void setup() {
+        metadata = new HashMapMetadata();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "key" + i;
+            metadata.set(keys[i], i);
+        }
+        metadata.createStructure("nested").set("value", "nested value");
+    }
+
+    private String nextKey() {
+        index = (index + 1) & (KEY_COUNT - 1);
+        return keys[index];
+    }
+
+    @Benchmark
+    public Optional<Integer> get() {
+        return metadata.get(nextKey());
+    }
+
+    @Benchmark
+    public void set() {
+        metadata.set(nextKey(), index);
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return metadata.containsKey(nextKey());
+    }
+
+    @Benchmark
+    public Optional<String> getNested() {
+        return metadata.<Metadata>get("nested").get().get("value");
+    }
+
+}
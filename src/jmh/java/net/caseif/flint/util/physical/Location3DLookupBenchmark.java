@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import com.google.common.base.Objects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures hash map lookups keyed by {@link Location3D}, as performed by
+ * implementations when tracking rollback records and lobby signs.
+ *
+ * <p>{@link LegacyLocation} reproduces the uncached, boxing {@code hashCode}
+ * and value-based world comparison previously used by {@link Location3D}, to
+ * serve as a baseline.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Location3DLookupBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final Map<Location3D, Object> map = new HashMap<>();
+    private final Map<LegacyLocation, Object> legacyMap = new HashMap<>();
+
+    private Location3D[] queries;
+    private LegacyLocation[] legacyQueries;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(0);
+        queries = new Location3D[size];
+        legacyQueries = new LegacyLocation[size];
+        for (int i = 0; i < size; i++) {
+            double x = rand.nextInt(1000);
+            double y = rand.nextInt(256);
+            double z = rand.nextInt(1000);
+            map.put(new Location3D("world", x, y, z), Boolean.TRUE);
+            legacyMap.put(new LegacyLocation("world", x, y, z), Boolean.TRUE);
+            // queries are distinct instances, as they would be when built from block events
+            queries[i] = new Location3D(new String("world"), x, y, z);
+            legacyQueries[i] = new LegacyLocation(new String("world"), x, y, z);
+        }
+    }
+
+    @Benchmark
+    public Object lookup() {
+        index = index + 1 < size ? index + 1 : 0;
+        return map.get(queries[index]);
+    }
+
+    @Benchmark
+    public Object lookupLegacy() {
+        index = index + 1 < size ? index + 1 : 0;
+        return legacyMap.get(legacyQueries[index]);
+    }
+
+    private static final class LegacyLocation {
+
+        private final String world;
+        private final double x;
+        private final double y;
+        private final double z;
+
+        private LegacyLocation(String world, double x, double y, double z) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof LegacyLocation) {
+                LegacyLocation l = (LegacyLocation) obj;
+                return Objects.equal(l.world, world) && l.x == x && l.y == y && l.z == z;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(world, x, y, z);
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the textual and binary serialization formats of {@link Location3D}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Location3DSerializationBenchmark {
+
+    private Location3D location;
+    private Location3D worldlessLocation;
+    private String serial;
+    private String worldlessSerial;
+
+    private final LocationCodec codec = new LocationCodec();
+    private final ByteBuffer buffer = ByteBuffer.allocate(LocationCodec.RECORD_LENGTH);
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        location = new Location3D("world", 1024.5, 64.0, -387.25);
+        worldlessLocation = new Location3D(1024.5, 64.0, -387.25);
+        serial = location.serialize();
+        worldlessSerial = worldlessLocation.serialize();
+
+        encoded = ByteBuffer.allocate(LocationCodec.RECORD_LENGTH);
+        codec.write(location, encoded);
+        encoded.flip();
+    }
+
+    @Benchmark
+    public String serialize() {
+        return location.serialize();
+    }
+
+    @Benchmark
+    public String serializeWorldless() {
+        return worldlessLocation.serialize();
+    }
+
+    @Benchmark
+    public Location3D deserialize() {
+        return Location3D.deserialize(serial);
+    }
+
+    @Benchmark
+    public Location3D deserializeWorldless() {
+        return Location3D.deserialize(worldlessSerial);
+    }
+
+    @Benchmark
+    public ByteBuffer writeBinary() {
+        buffer.clear();
+        codec.write(location, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Location3D readBinary() {
+        encoded.rewind();
+        return codec.read(encoded);
+    }
+
+}
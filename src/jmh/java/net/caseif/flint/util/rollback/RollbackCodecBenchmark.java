@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static net.caseif.flint.util.rollback.SectionSnapshotWriter.SECTION_VOLUME;
+
+import net.caseif.flint.util.physical.BlockLocation;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures write and restore throughput of section snapshots, as taken by
+ * the {@link net.caseif.flint.arena.RollbackStrategy#SECTION_SNAPSHOT}
+ * rollback strategy, under each rollback codec. The snapshotted region
+ * resembles terrain at the surface of a typical world. Results are reported
+ * per block; the compressed size in bytes per block is reported as the
+ * {@code bytesPerBlock} secondary result of {@link #write(Ratio)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RollbackCodecBenchmark {
+
+    private static final int SECTIONS_PER_AXIS = 3;
+    private static final int SECTION_LAYERS = 2;
+    private static final int SECTIONS = SECTIONS_PER_AXIS * SECTIONS_PER_AXIS * SECTION_LAYERS;
+    private static final int BLOCKS = SECTIONS * SECTION_VOLUME;
+
+    @Param({"LZ4", "Deflate"})
+    public String codecName;
+
+    private RollbackCodec codec;
+
+    private final long[] sectionKeys = new long[SECTIONS];
+    private final long[][] sections = new long[SECTIONS][SECTION_VOLUME];
+    private final long[] restored = new long[SECTION_VOLUME];
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private byte[] snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        codec = codecName.equals(RollbackCodecs.LZ4.getName()) ? RollbackCodecs.LZ4 : RollbackCodecs.DEFLATE;
+
+        Random rand = new Random(0);
+        int section = 0;
+        for (int sy = 0; sy < SECTION_LAYERS; sy++) {
+            for (int sx = 0; sx < SECTIONS_PER_AXIS; sx++) {
+                for (int sz = 0; sz < SECTIONS_PER_AXIS; sz++) {
+                    sectionKeys[section] = BlockLocation.getSectionKey(
+                            BlockLocation.pack(sx * 16, 48 + sy * 16, sz * 16));
+                    long[] states = sections[section++];
+                    for (int i = 0; i < SECTION_VOLUME; i++) {
+                        int y = 48 + sy * 16 + (i >> 8);
+                        // stone with scattered ores below a layer of dirt and grass, and air above (0 = air)
+                        int surface = 60 + ((i & 0xF) ^ ((i >> 4) & 0xF)) % 4;
+                        if (y > surface) {
+                            states[i] = 0;
+                        } else if (y == surface) {
+                            states[i] = 3;
+                        } else if (y > surface - 4) {
+                            states[i] = 2;
+                        } else {
+                            states[i] = rand.nextInt(50) == 0 ? 4 + rand.nextInt(4) : 1;
+                        }
+                    }
+                }
+            }
+        }
+        snapshot = writeSnapshot();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int write(Ratio ratio) throws IOException {
+        byte[] written = writeSnapshot();
+        ratio.bytesPerBlock = (double) written.length / BLOCKS;
+        return written.length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public long[] restore() throws IOException {
+        try (SectionSnapshotReader reader = new SectionSnapshotReader(new ByteArrayInputStream(snapshot))) {
+            while (reader.readSection(restored)) {
+                // consume each section
+            }
+        }
+        return restored;
+    }
+
+    private byte[] writeSnapshot() throws IOException {
+        buffer.reset();
+        try (SectionSnapshotWriter writer = new SectionSnapshotWriter(buffer, codec)) {
+            for (int i = 0; i < SECTIONS; i++) {
+                writer.writeSection(sectionKeys[i], sections[i]);
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Reports the compressed size of the snapshot alongside the primary
+     * result.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Ratio {
+
+        public double bytesPerBlock;
+
+    }
+
+}
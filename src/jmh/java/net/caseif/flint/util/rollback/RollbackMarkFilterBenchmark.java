@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import net.caseif.flint.util.physical.BlockLocation;
+import net.caseif.flint.util.physical.Location3D;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures repeated rollback marks of the blocks in an explosion crater, as
+ * generated by TNT-heavy game modes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RollbackMarkFilterBenchmark {
+
+    private static final int SEQUENCE_LENGTH = 1 << 16;
+
+    private final long[] keys = new long[SEQUENCE_LENGTH];
+    private final Location3D[] locations = new Location3D[SEQUENCE_LENGTH];
+
+    private RollbackMarkFilter filter;
+    private Set<Location3D> set;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(0);
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            int x = rand.nextInt(16);
+            int y = 60 + rand.nextInt(8);
+            int z = rand.nextInt(16);
+            keys[i] = BlockLocation.pack(x, y, z);
+            locations[i] = new Location3D("world", x, y, z);
+        }
+        filter = new RollbackMarkFilter(4096);
+        set = new HashSet<>();
+        // pre-mark everything so that the benchmarks measure repeat marks
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            filter.mark(keys[i]);
+            set.add(locations[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean markFilter() {
+        index = (index + 1) & (SEQUENCE_LENGTH - 1);
+        return filter.mark(keys[index]);
+    }
+
+    @Benchmark
+    public boolean markHashSet() {
+        index = (index + 1) & (SEQUENCE_LENGTH - 1);
+        return set.add(locations[index]);
+    }
+
+}
@@ -37,6 +37,7 @@ import net.caseif.flint.round.LifecycleStage;
 import net.caseif.flint.round.Round;
 import net.caseif.flint.util.builder.Buildable;
 import net.caseif.flint.util.builder.Builder;
+import net.caseif.flint.util.physical.BlockLocation;
 import net.caseif.flint.util.physical.Boundary;
 import net.caseif.flint.util.physical.Location3D;
 
@@ -139,6 +140,10 @@ public interface Arena extends PersistentMetadataHolder, ComponentOwner, Compone
     /**
      * Sets the {@link Boundary} which this {@link Arena} is contained within.
      *
+     * <p>The change is immediately reflected by
+     * {@link Minigame#getArenaAt(Location3D)} and
+     * {@link Minigame#getArenasIntersecting(Boundary)}.</p>
+     *
      * @param bound The new {@link Boundary} which this {@link Arena} is to be
      *     contained within
      * @throws OrphanedComponentException If this object is orphaned (see
@@ -217,7 +222,8 @@ public interface Arena extends PersistentMetadataHolder, ComponentOwner, Compone
      * @throws IllegalArgumentException If {@code stages} is {@code null} or
      *     contains an empty set
      * @throws IllegalStateException If a {@link Round} already exists in this
-     *     {@link Arena}
+     *     {@link Arena}, or if it is currently being rolled back (see
+     *     {@link #rollbackAsync(int)})
      * @throws OrphanedComponentException If this object is orphaned (see
      *     {@link Component} for details)
      * @since 1.0
@@ -231,8 +237,9 @@ public interface Arena extends PersistentMetadataHolder, ComponentOwner, Compone
      *
      * @return The newly created {@link Round}
      * @throws IllegalStateException If a {@link Round} already exists in this
-     *     {@link Arena}, or if the default {@link LifecycleStage}s have not
-     *     been set as a config option
+     *     {@link Arena}, if it is currently being rolled back (see
+     *     {@link #rollbackAsync(int)}), or if the default
+     *     {@link LifecycleStage}s have not been set as a config option
      * @throws OrphanedComponentException If this object is orphaned (see
      *     {@link Component} for details)
      * @since 1.0
@@ -292,6 +299,25 @@ public interface Arena extends PersistentMetadataHolder, ComponentOwner, Compone
      */
     Optional<LobbySign> getLobbySignAt(Location3D location) throws IllegalArgumentException, OrphanedComponentException;
 
+    /**
+     * Gets the {@link LobbySign} at the given {@link BlockLocation}, if
+     * present.
+     *
+     * <p>This is equivalent to {@link #getLobbySignAt(Location3D)}, but
+     * permits implementations to look up signs by their packed coordinates.</p>
+     *
+     * @param location The {@link BlockLocation location} at which to search
+     *     for a {@link LobbySign}
+     * @return The {@link LobbySign} at the given {@link BlockLocation}, or
+     *     {@link Optional#absent()} if none is registered
+     * @throws IllegalArgumentException If {@code location} does not define a world
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    Optional<LobbySign> getLobbySignAt(BlockLocation location)
+            throws IllegalArgumentException, OrphanedComponentException;
+
     /**
      * Attempts to register a {@link StatusLobbySign} at the given
      * {@link Location3D location}.
@@ -331,7 +357,9 @@ public interface Arena extends PersistentMetadataHolder, ComponentOwner, Compone
      * the location will be reset to its state upon this method being invoked.
      *
      * <p>Note: This will have no effect if a rollback record already exists at
-     * the location.</p>
+     * the location. Implementations are expected to reject such repeat marks
+     * without looking up the location's state (see
+     * {@link net.caseif.flint.util.rollback.RollbackMarkFilter}).</p>
      *
      * @param location The {@link Location3D} to mark for rollback
      * @throws IllegalArgumentException If the provided location is not
@@ -345,10 +373,85 @@ public interface Arena extends PersistentMetadataHolder, ComponentOwner, Compone
     void markForRollback(Location3D location) throws IllegalArgumentException, RollbackException,
             OrphanedComponentException;
 
+    /**
+     * Explicitly marks a block for rollback. When the arena is rolled back,
+     * the block will be reset to its state upon this method being invoked.
+     *
+     * <p>This is equivalent to {@link #markForRollback(Location3D)}, but
+     * permits implementations to track rollback records by their packed
+     * coordinates.</p>
+     *
+     * <p>Note: This will have no effect if a rollback record already exists at
+     * the location.</p>
+     *
+     * @param location The {@link BlockLocation} to mark for rollback
+     * @throws IllegalArgumentException If the provided location is not
+     *     contained by this {@link Arena}'s {@link Boundary}
+     * @throws RollbackException If an exception occurs while marking the
+     *     location for rollback
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    void markForRollback(BlockLocation location) throws IllegalArgumentException, RollbackException,
+            OrphanedComponentException;
+
+    /**
+     * Explicitly marks every block within the given region for rollback, as
+     * if by invoking {@link #markForRollback(Location3D)} upon each of them.
+     *
+     * <p>Implementations are expected to snapshot the region in a single pass
+     * grouped by chunk section, rather than looking up each block
+     * individually. Blocks which already have rollback records are left
+     * untouched.</p>
+     *
+     * @param region The {@link Boundary} containing the blocks to mark for
+     *     rollback
+     * @throws IllegalArgumentException If the provided region is not
+     *     contained by this {@link Arena}'s {@link Boundary}
+     * @throws RollbackException If an exception occurs while marking the
+     *     region for rollback
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    void markForRollback(Boundary region) throws IllegalArgumentException, RollbackException,
+            OrphanedComponentException;
+
+    /**
+     * Explicitly marks each of the given locations for rollback, as if by
+     * invoking {@link #markForRollback(Location3D)} upon each of them.
+     *
+     * <p>Implementations are expected to group the locations by chunk section
+     * (see {@link BlockLocation#sortBySection(long[])}) and snapshot each
+     * section in a single pass, rather than looking up each block
+     * individually. Locations which already have rollback records are left
+     * untouched.</p>
+     *
+     * @param locations The {@link Location3D}s to mark for rollback
+     * @throws IllegalArgumentException If any of the provided locations is
+     *     not contained by this {@link Arena}'s {@link Boundary}
+     * @throws RollbackException If an exception occurs while marking the
+     *     locations for rollback
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    void markForRollback(Iterable<? extends Location3D> locations) throws IllegalArgumentException,
+            RollbackException, OrphanedComponentException;
+
     /**
      * Rolls this {@link Arena}'s its state immediately prior to a {@link Round}
      * having been created in it.
      *
+     * <p>Rollback records are expected to be persisted as they are created
+     * such that they survive a crash of the server, typically in a
+     * {@link net.caseif.flint.util.rollback.RollbackJournal} per
+     * {@link Arena}, and to be replayed sequentially by this method. If the
+     * {@link Round} used the {@link RollbackStrategy#SECTION_SNAPSHOT}
+     * strategy, the snapshot taken at its creation is instead restored in
+     * bulk.</p>
+     *
      * @throws IllegalStateException If no {@link Round} has taken place in this
      *     {@link Arena} since the last call to this method upon it
      * @throws OrphanedComponentException If this object is orphaned (see
@@ -357,6 +460,44 @@ public interface Arena extends PersistentMetadataHolder, ComponentOwner, Compone
      */
     void rollback() throws IllegalStateException, OrphanedComponentException;
 
+    /**
+     * Begins rolling this {@link Arena} back to its state immediately prior to
+     * a {@link Round} having been created in it, restoring at most
+     * {@code maxRecordsPerTick} rollback records per server tick.
+     *
+     * <p>The rollback is applied on the main thread, but is spread across as
+     * many ticks as necessary so as to avoid stalling the server while large
+     * arenas are restored. A {@link Round} may not be created in this
+     * {@link Arena} until the returned {@link RollbackTask} is done.</p>
+     *
+     * @param maxRecordsPerTick The maximum number of rollback records to
+     *     restore per server tick
+     * @return A {@link RollbackTask} tracking the progress of the rollback
+     * @throws IllegalArgumentException If {@code maxRecordsPerTick} is not
+     *     positive
+     * @throws IllegalStateException If no {@link Round} has taken place in this
+     *     {@link Arena} since it was last rolled back, or if it is already
+     *     being rolled back
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    RollbackTask rollbackAsync(int maxRecordsPerTick) throws IllegalArgumentException, IllegalStateException,
+            OrphanedComponentException;
+
+    /**
+     * Gets the {@link RollbackTask} currently restoring this {@link Arena}, if
+     * any.
+     *
+     * @return The {@link RollbackTask} currently restoring this {@link Arena},
+     *     or {@link Optional#absent()} if it is not being rolled back
+     *     incrementally
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    Optional<RollbackTask> getRollbackTask() throws OrphanedComponentException;
+
     /**
      * A builder for {@link Arena} objects.
      *
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.arena;
+
+import net.caseif.flint.util.physical.Boundary;
+
+/**
+ * The strategy by which an {@link Arena}'s state is recorded and restored
+ * upon being rolled back.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public enum RollbackStrategy {
+
+    /**
+     * Individual blocks will be recorded as they are changed or explicitly
+     * marked (see {@link Arena#markForRollback(net.caseif.flint.util.physical.Location3D)})
+     * and restored individually.
+     *
+     * <p>This is best suited to arenas in which only a small portion of the
+     * map is modified during each round.</p>
+     *
+     * @since 1.4
+     */
+    PER_BLOCK,
+    /**
+     * The entire region within the {@link Arena}'s {@link Boundary} will be
+     * snapshotted section by section when a round begins and restored in bulk
+     * upon rollback, without tracking individual changes.
+     *
+     * <p>This is best suited to arenas in which most of the map is destroyed
+     * during each round. Note that the {@link Boundary} must be finite.</p>
+     *
+     * @since 1.4
+     */
+    SECTION_SNAPSHOT
+
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.arena;
+
+import net.caseif.flint.exception.rollback.RollbackException;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Represents an in-progress rollback of an {@link Arena} which is applied
+ * incrementally in bounded batches across multiple server ticks (see
+ * {@link Arena#rollbackAsync(int)}).
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface RollbackTask {
+
+    /**
+     * Gets the {@link Arena} being rolled back by this {@link RollbackTask}.
+     *
+     * @return The {@link Arena} being rolled back by this {@link RollbackTask}
+     * @since 1.4
+     */
+    Arena getArena();
+
+    /**
+     * Gets the total number of rollback records to be restored by this
+     * {@link RollbackTask}.
+     *
+     * @return The total number of rollback records to be restored
+     * @since 1.4
+     */
+    int getTotalRecords();
+
+    /**
+     * Gets the number of rollback records which have been restored so far.
+     *
+     * @return The number of rollback records which have been restored so far
+     * @since 1.4
+     */
+    int getRestoredRecords();
+
+    /**
+     * Gets the fraction of rollback records which have been restored so far,
+     * in the range {@code [0, 1]}.
+     *
+     * @return The fraction of rollback records which have been restored so far
+     * @since 1.4
+     */
+    double getProgress();
+
+    /**
+     * Returns whether this {@link RollbackTask} has finished, either by
+     * restoring all records or by failing.
+     *
+     * @return Whether this {@link RollbackTask} has finished
+     * @since 1.4
+     */
+    boolean isDone();
+
+    /**
+     * Gets a {@link ListenableFuture} which completes once all records have
+     * been restored.
+     *
+     * <p>If the rollback fails, the future will fail with a
+     * {@link RollbackException}.</p>
+     *
+     * @return A {@link ListenableFuture} which completes once all records have
+     *     been restored
+     * @since 1.4
+     */
+    ListenableFuture<Void> getFuture();
+
+}
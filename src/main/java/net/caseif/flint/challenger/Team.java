@@ -87,6 +87,8 @@ public interface Team extends MetadataHolder, Component<Round> {
      * Returns an {@link ImmutableList} of all {@link Challenger}s on this
      *     {@link Team}.
      *
+     * <p>The returned list is cached (see {@link #getMembershipVersion()}).</p>
+     *
      * @return An {@link ImmutableList} of all {@link Challenger}s on this
      *     {@link Team}
      * @throws OrphanedComponentException If this object is orphaned (see
@@ -95,6 +97,20 @@ public interface Team extends MetadataHolder, Component<Round> {
      */
     ImmutableList<Challenger> getChallengers() throws OrphanedComponentException;
 
+    /**
+     * Gets the membership version of this {@link Team}, which is incremented
+     * whenever a {@link Challenger} is added to or removed from it.
+     *
+     * <p>{@link #getChallengers()} is cached per version: until the version
+     * changes, repeated calls are cheap and return the same instance.</p>
+     *
+     * @return The membership version of this {@link Team}
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    long getMembershipVersion() throws OrphanedComponentException;
+
     /**
      * Adds the given {@link Challenger} to this {@link Team} and implicitly
      * removing it from its current {@link Team} if applicable.
@@ -25,6 +25,7 @@
 package net.caseif.flint.config;
 
 import net.caseif.flint.arena.Arena;
+import net.caseif.flint.arena.RollbackStrategy;
 import net.caseif.flint.arena.SpawningMode;
 import net.caseif.flint.challenger.Challenger;
 import net.caseif.flint.challenger.Team;
@@ -34,6 +35,8 @@ import net.caseif.flint.lobby.populator.LobbySignPopulator;
 import net.caseif.flint.minigame.Minigame;
 import net.caseif.flint.round.LifecycleStage;
 import net.caseif.flint.round.Round;
+import net.caseif.flint.round.TimerMode;
+import net.caseif.flint.round.TimerTickEventMode;
 import net.caseif.flint.util.physical.Boundary;
 import net.caseif.flint.util.unsafe.UnsafeUtil;
 
@@ -100,6 +103,44 @@ public class ConfigNode<T> {
      */
     public static final ConfigNode<Boolean> REQUIRE_SNEAK_TO_DESTROY_LOBBY = new ConfigNode<>(true);
 
+    /**
+     * The maximum number of worker threads used to prepare rollback data in
+     * parallel when all {@link Arena}s are rolled back at once (see
+     * {@link Minigame#rollbackAll()}). A value of {@code 0} denotes one thread
+     * per available processor.
+     *
+     * <p><strong>Default:</strong> {@code 0}</p>
+     *
+     * @since 1.4
+     */
+    public static final ConfigNode<Integer> ROLLBACK_WORKER_THREADS = new ConfigNode<>(0);
+
+    /**
+     * The mode by which {@link net.caseif.flint.event.round.RoundTimerTickEvent}s
+     * are dispatched for the {@link Minigame}'s {@link Round}s. When set to
+     * {@link TimerTickEventMode#BATCHED}, they are replaced by a single
+     * {@link net.caseif.flint.event.round.RoundTimerBatchTickEvent} per server
+     * tick.
+     *
+     * <p><strong>Default:</strong> {@link TimerTickEventMode#ALWAYS}</p>
+     *
+     * @since 1.4
+     */
+    public static final ConfigNode<TimerTickEventMode> TIMER_TICK_EVENT_MODE
+            = new ConfigNode<>(TimerTickEventMode.ALWAYS);
+
+    /**
+     * The maximum number of {@link Round}s which may change lifecycle stage
+     * in a single server tick while catching up after server lag (see
+     * {@link TimerMode#MONOTONIC}). Further transitions are deferred to
+     * subsequent ticks. A value of {@code 0} denotes no limit.
+     *
+     * <p><strong>Default:</strong> {@code 5}</p>
+     *
+     * @since 1.4
+     */
+    public static final ConfigNode<Integer> MAX_CATCH_UP_TRANSITIONS_PER_TICK = new ConfigNode<>(5);
+
     // ROUND CONFIG NODES
     /**
      * The maximum permitted player count.
@@ -179,6 +220,56 @@ public class ConfigNode<T> {
      */
     public static final RoundConfigNode<Boolean> ROLLBACK_ON_END = new RoundConfigNode<>(true);
 
+    /**
+     * The resolution in milliseconds at which {@link Round} timers are
+     * tracked (see {@link Round#getTime(java.util.concurrent.TimeUnit)}).
+     *
+     * <p>Lifecycle stage transitions and scheduled tasks (see
+     * {@link Round#schedule(long, Runnable)}) take effect at this
+     * granularity. Values finer than a server tick (50 milliseconds at the
+     * nominal tick rate) are effectively rounded up to one tick.
+     * {@link net.caseif.flint.event.round.RoundTimerTickEvent}s continue to be
+     * posted once per second regardless of the resolution, so finer
+     * resolutions incur no additional event traffic.</p>
+     *
+     * <p><strong>Default:</strong> {@code 1000}</p>
+     *
+     * @since 1.4
+     */
+    public static final RoundConfigNode<Long> TIMER_RESOLUTION = new RoundConfigNode<>(1000L);
+
+    /**
+     * The mode by which {@link Round} timers advance. (See {@link TimerMode}
+     * for more information.)
+     *
+     * <p><strong>Default:</strong> {@link TimerMode#TICK_COUNTED}</p>
+     *
+     * @since 1.4
+     */
+    public static final RoundConfigNode<TimerMode> TIMER_MODE = new RoundConfigNode<>(TimerMode.TICK_COUNTED);
+
+    /**
+     * The maximum number of rollback records to restore per server tick when
+     * a {@link Round} ends with
+     * {@link Round.EndParameter.RollbackBehavior#DO_INCREMENTAL_ROLLBACK}.
+     *
+     * <p><strong>Default:</strong> {@code 2000}</p>
+     *
+     * @since 1.4
+     */
+    public static final RoundConfigNode<Integer> ROLLBACK_RECORDS_PER_TICK = new RoundConfigNode<>(2000);
+
+    /**
+     * The strategy by which {@link Arena}s are recorded and restored upon
+     * being rolled back. (See {@link RollbackStrategy} for more information.)
+     *
+     * <p><strong>Default:</strong> {@link RollbackStrategy#PER_BLOCK}</p>
+     *
+     * @since 1.4
+     */
+    public static final RoundConfigNode<RollbackStrategy> ROLLBACK_STRATEGY
+            = new RoundConfigNode<>(RollbackStrategy.PER_BLOCK);
+
     /**
      * The mode which should be used when selecting spawn points. (See
      * {@link SpawningMode} for more information.)
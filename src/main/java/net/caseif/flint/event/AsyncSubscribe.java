@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link com.google.common.eventbus.Subscribe Subscribe} method to
+ * be invoked off the posting thread when registered to a
+ * {@link FlintEventBus}.
+ *
+ * <p>This is intended for subscribers which perform logging, statistics
+ * collection, database writes and similar work which need not delay the
+ * server's main thread. Asynchronous subscribers receive a
+ * {@link SnapshottableEvent#snapshot() snapshot} of events which support
+ * one, and otherwise the event itself. {@link MutableEvent}s are only
+ * delivered asynchronously once every synchronous subscriber has received
+ * them, as their modification only takes effect before the post
+ * completes.</p>
+ *
+ * <p>Since other {@link FlintEvent}s expose live game state, an asynchronous
+ * subscriber must accept either a {@link SnapshottableEvent} type or a type
+ * which is unrelated to {@link FlintEvent} (such as an application-defined
+ * value type); {@link FlintEventBus#register(Object)} rejects any other
+ * asynchronous subscriber.</p>
+ *
+ * <p>Asynchronous delivery is bounded: when the bus's asynchronous lane is
+ * saturated, the posting thread will run the subscriber itself rather than
+ * queueing it indefinitely. No ordering is guaranteed between asynchronous
+ * deliveries.</p>
+ *
+ * <p>This annotation has no effect on a plain
+ * {@link com.google.common.eventbus.EventBus EventBus}.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AsyncSubscribe {
+}
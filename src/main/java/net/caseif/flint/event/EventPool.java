@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Supplier;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * A bounded pool of reusable event objects, for events which are posted at a
+ * high frequency (such as
+ * {@link net.caseif.flint.event.round.RoundTimerTickEvent}s).
+ *
+ * <p>An event is {@link #acquire() acquired}, populated, and then posted via
+ * {@link FlintEventBus#post(Object, EventPool)}, which
+ * {@link #release(Object) releases} it once it has been delivered. Releasing
+ * an event as soon as the post returns is not safe in general: a post made
+ * from within a subscriber is queued until the outer event has been
+ * delivered. Listeners must not retain references to pooled events beyond
+ * their handler, and pooled events delivered to
+ * {@link AsyncSubscribe asynchronous} subscribers must implement
+ * {@link SnapshottableEvent}, so that only the snapshot escapes the
+ * post.</p>
+ *
+ * <p>This class is not thread-safe; each pool is intended to be used from a
+ * single thread, typically the server's main thread.</p>
+ *
+ * @param <T> The type of event contained by the pool
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class EventPool<T> {
+
+    private final Supplier<? extends T> factory;
+    private final int capacity;
+    private final Deque<T> idle;
+    private final Set<T> idleSet = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+
+    private long created;
+    private long reused;
+
+    /**
+     * Constructs a new {@link EventPool}.
+     *
+     * @param factory The {@link Supplier} used to create new events when the
+     *     pool is empty
+     * @param capacity The maximum number of idle events to retain
+     * @throws IllegalArgumentException If {@code capacity} is negative
+     * @since 1.4
+     */
+    public EventPool(Supplier<? extends T> factory, int capacity) throws IllegalArgumentException {
+        checkArgument(capacity >= 0, "Capacity cannot be negative");
+        this.factory = factory;
+        this.capacity = capacity;
+        this.idle = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    /**
+     * Takes an event from this pool, creating one if none are idle.
+     *
+     * @return An event which is not currently in use
+     * @since 1.4
+     */
+    public T acquire() {
+        T event = idle.poll();
+        if (event != null) {
+            idleSet.remove(event);
+            reused++;
+            return event;
+        }
+        created++;
+        return factory.get();
+    }
+
+    /**
+     * Returns the given event to this pool, making it available to subsequent
+     * calls to {@link #acquire()}. If the pool is at capacity, the event is
+     * discarded.
+     *
+     * <p>Events posted via {@link FlintEventBus#post(Object, EventPool)} are
+     * released by the bus and must not be released again.</p>
+     *
+     * @param event The event to return
+     * @throws NullPointerException If {@code event} is {@code null}
+     * @throws IllegalArgumentException If {@code event} is already idle in this
+     *     pool
+     * @since 1.4
+     */
+    public void release(T event) throws NullPointerException, IllegalArgumentException {
+        checkNotNull(event, "event");
+        checkArgument(!idleSet.contains(event), "Event has already been released");
+        if (idle.size() < capacity) {
+            idle.push(event);
+            idleSet.add(event);
+        }
+    }
+
+    /**
+     * Gets the number of idle events currently retained by this pool.
+     *
+     * @return The number of idle events
+     * @since 1.4
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the number of events this pool has created.
+     *
+     * @return The number of events created
+     * @since 1.4
+     */
+    public long getCreatedCount() {
+        return created;
+    }
+
+    /**
+     * Gets the number of acquisitions which were satisfied by an idle event.
+     *
+     * @return The number of reused events
+     * @since 1.4
+     */
+    public long getReusedCount() {
+        return reused;
+    }
+
+}
@@ -0,0 +1,708 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * An {@link EventBus} which dispatches events through precompiled
+ * {@link MethodHandle}s rather than reflection.
+ *
+ * <p>For each concrete event type, the subscribers to it and to each of its
+ * supertypes are resolved once and cached as a flat array until the next
+ * registration change, so posting an event neither walks the type hierarchy
+ * nor looks up subscribers. This also allows events which would otherwise
+ * be posted at a high frequency (such as
+ * {@link net.caseif.flint.event.round.RoundTimerTickEvent}s) to be skipped
+ * entirely, without being constructed, when nothing is listening for them
+ * (see {@link #hasSubscribers(Class)}).</p>
+ *
+ * <p>Registration and delivery semantics are otherwise compatible with those
+ * of {@link EventBus}: subscribers are discovered via {@link Subscribe},
+ * invocations of subscribers not marked with {@link AllowConcurrentEvents}
+ * are serialized, events posted from within a subscriber are queued until
+ * the current event has been delivered, events without subscribers are
+ * reposted as {@link DeadEvent}s, and exceptions thrown by subscribers are
+ * logged rather than propagated.</p>
+ *
+ * <p>Additionally, subscribers marked with {@link AsyncSubscribe} are
+ * delivered events on a bounded asynchronous lane once every synchronous
+ * subscriber has received them. Unless an
+ * {@link Executor} is supplied at construction, the lane is backed by a
+ * small pool of daemon threads with a bounded queue, created upon first use;
+ * when its queue is full, the posting thread runs the subscriber itself.
+ * {@link DeadEvent}s wrapping a {@link FlintEvent} or a pooled event are
+ * delivered to asynchronous subscribers on the posting thread, as the
+ * wrapped event may not be snapshotted.</p>
+ *
+ * <p>The bus can also record the invocation count and latency of each
+ * subscriber per event type (see {@link #setMetricsEnabled(boolean)}), so
+ * that slow listeners may be identified. Metrics may be queried directly or
+ * exposed over JMX via {@link #registerMBean()}.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class FlintEventBus extends EventBus implements FlintEventBusMXBean {
+
+    private static final MethodType SUBSCRIBER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    private static final int ASYNC_QUEUE_CAPACITY = 1024;
+
+    private final String identifier;
+    private final Logger logger;
+
+    // per-bus rather than static: the cached methods reference their declaring classes, so a global cache would
+    // pin the class loaders of plugins long after their buses are discarded
+    private final ConcurrentMap<Class<?>, ImmutableList<Method>> subscriberMethods = new ConcurrentHashMap<>();
+
+    private volatile boolean metricsEnabled;
+    private final AtomicReference<ObjectName> mbeanName = new AtomicReference<>();
+
+    private final Object executorLock = new Object();
+    private volatile Executor asyncExecutor;
+    private ExecutorService ownedExecutor;
+
+    private final Object registrationLock = new Object();
+    private volatile Registrations registrations
+            = new Registrations(ImmutableSetMultimap.<Class<?>, Subscriber>of());
+
+    private final ThreadLocal<DispatchQueue> dispatchQueue = new ThreadLocal<DispatchQueue>() {
+        @Override
+        protected DispatchQueue initialValue() {
+            return new DispatchQueue();
+        }
+    };
+
+    /**
+     * Constructs a new {@link FlintEventBus} named "default".
+     *
+     * @since 1.4
+     */
+    public FlintEventBus() {
+        this("default");
+    }
+
+    /**
+     * Constructs a new {@link FlintEventBus} with the given identifier.
+     *
+     * @param identifier A brief name for this bus, for logging purposes
+     * @since 1.4
+     */
+    public FlintEventBus(String identifier) {
+        super(identifier);
+        this.identifier = identifier;
+        this.logger = Logger.getLogger(EventBus.class.getName() + "." + identifier);
+    }
+
+    /**
+     * Constructs a new {@link FlintEventBus} with the given identifier which
+     * delivers events to {@link AsyncSubscribe asynchronous} subscribers via
+     * the given {@link Executor}.
+     *
+     * <p>The caller is responsible for bounding the {@link Executor} and for
+     * shutting it down.</p>
+     *
+     * @param identifier A brief name for this bus, for logging purposes
+     * @param asyncExecutor The {@link Executor} to deliver asynchronous events
+     *     with
+     * @since 1.4
+     */
+    public FlintEventBus(String identifier, Executor asyncExecutor) {
+        this(identifier);
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException If a method marked with
+     *     {@link Subscribe} does not accept exactly one parameter, or a method
+     *     marked with {@link AsyncSubscribe} accepts a {@link FlintEvent}
+     *     which is not a {@link SnapshottableEvent}
+     */
+    @Override
+    public void register(Object object) throws IllegalArgumentException {
+        ImmutableList<Method> methods = getSubscriberMethods(object.getClass());
+        for (Method method : methods) {
+            if (!method.isAnnotationPresent(AsyncSubscribe.class)) {
+                continue;
+            }
+            Class<?> eventType = method.getParameterTypes()[0];
+            // supertypes of FlintEvent (e.g. Object) would also receive live Flint events
+            checkArgument(SnapshottableEvent.class.isAssignableFrom(eventType)
+                            || !(FlintEvent.class.isAssignableFrom(eventType)
+                                    || eventType.isAssignableFrom(FlintEvent.class)),
+                    "Subscriber " + method + " to a non-snapshottable Flint event cannot be asynchronous");
+        }
+        synchronized (registrationLock) {
+            SetMultimap<Class<?>, Subscriber> subscribers = LinkedHashMultimap.create(registrations.subscribers);
+            for (Method method : methods) {
+                subscribers.put(method.getParameterTypes()[0], createSubscriber(object, method));
+            }
+            registrations = new Registrations(ImmutableSetMultimap.copyOf(subscribers));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException If the object is not registered, or a
+     *     method marked with {@link Subscribe} does not accept exactly one
+     *     parameter
+     */
+    @Override
+    public void unregister(Object object) throws IllegalArgumentException {
+        ImmutableList<Method> methods = getSubscriberMethods(object.getClass());
+        synchronized (registrationLock) {
+            SetMultimap<Class<?>, Subscriber> subscribers = LinkedHashMultimap.create(registrations.subscribers);
+            for (Method method : methods) {
+                checkArgument(removeSubscriber(subscribers.get(method.getParameterTypes()[0]), object, method),
+                        "Missing event subscriber for an annotated method. Is " + object + " registered?");
+            }
+            registrations = new Registrations(ImmutableSetMultimap.copyOf(subscribers));
+        }
+    }
+
+    // matches on target and method rather than constructing a Subscriber, which would resolve a method handle
+    private static boolean removeSubscriber(Set<Subscriber> subscribers, Object target, Method method) {
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            if (subscriber.target == target && subscriber.method.equals(method)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void post(Object event) {
+        post(event, null, null);
+    }
+
+    /**
+     * Posts the given pooled event to all registered subscribers, and then
+     * returns it to the given {@link EventPool} once it has been delivered to
+     * each of them.
+     *
+     * <p>If this is invoked from within a subscriber, the event is queued
+     * until the event currently being delivered has been delivered, and so is
+     * not released until after this method returns. Callers must therefore
+     * not release pooled events themselves.</p>
+     *
+     * <p>Since the event will be reused, it is only delivered to
+     * {@link AsyncSubscribe asynchronous} subscribers in the form of a
+     * {@link SnapshottableEvent#snapshot() snapshot}.</p>
+     *
+     * @param event The event to post
+     * @param pool The {@link EventPool} to release the event to
+     * @param <T> The type of the event
+     * @throws IllegalArgumentException If an asynchronous subscriber would
+     *     receive the event and it is not a {@link SnapshottableEvent} (the
+     *     event is released regardless)
+     * @since 1.4
+     */
+    public <T> void post(T event, EventPool<? super T> pool) throws IllegalArgumentException {
+        post(event, event, pool);
+    }
+
+    private void post(Object event, Object pooled, EventPool<?> pool) {
+        boolean queued = false;
+        try {
+            Subscriber[] subscribers = registrations.getSubscribers(event.getClass());
+            // whether the event wraps another which may not be handed to asynchronous subscribers
+            boolean syncOnly = false;
+            if (subscribers.length == 0) {
+                if (event instanceof DeadEvent) {
+                    return;
+                }
+                syncOnly = pool != null || event instanceof FlintEvent;
+                event = new DeadEvent(this, event);
+                subscribers = registrations.getSubscribers(DeadEvent.class);
+                if (subscribers.length == 0) {
+                    return;
+                }
+            }
+            if (pool != null && !syncOnly && !(event instanceof SnapshottableEvent)) {
+                for (Subscriber subscriber : subscribers) {
+                    checkArgument(!subscriber.async, "Pooled event " + event + " cannot be delivered to "
+                            + "asynchronous subscriber " + subscriber.method + " as it is not snapshottable");
+                }
+            }
+
+            DispatchQueue queue = dispatchQueue.get();
+            queue.entries.add(new Entry(event, subscribers, syncOnly, pooled, pool));
+            queued = true;
+            if (queue.dispatching) {
+                // delivered by the outer invocation once the current event is done
+                return;
+            }
+            dispatchQueued(queue);
+        } finally {
+            if (!queued && pool != null) {
+                release(pool, pooled);
+            }
+        }
+    }
+
+    private void dispatchQueued(DispatchQueue queue) {
+        queue.dispatching = true;
+        try {
+            Entry entry;
+            while ((entry = queue.entries.poll()) != null) {
+                try {
+                    dispatch(entry);
+                } finally {
+                    entry.release();
+                }
+            }
+        } finally {
+            queue.dispatching = false;
+            // only reached with entries left if delivery failed, in which case they are dropped
+            Entry entry;
+            while ((entry = queue.entries.poll()) != null) {
+                entry.release();
+            }
+        }
+    }
+
+    private void dispatch(Entry entry) {
+        boolean asyncSafe = !entry.syncOnly && isAsyncSafe(entry.event);
+        boolean hasAsync = false;
+        // synchronous subscribers run first so that modifications to mutable events are visible to the snapshot
+        // handed to asynchronous subscribers
+        for (Subscriber subscriber : entry.subscribers) {
+            if (subscriber.async && asyncSafe) {
+                hasAsync = true;
+            } else {
+                dispatch(entry.event, subscriber);
+            }
+        }
+        if (hasAsync) {
+            Object snapshot = entry.event instanceof SnapshottableEvent
+                    ? ((SnapshottableEvent) entry.event).snapshot()
+                    : entry.event;
+            for (Subscriber subscriber : entry.subscribers) {
+                if (subscriber.async) {
+                    dispatchAsync(snapshot, subscriber);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void release(EventPool<?> pool, Object event) {
+        ((EventPool<Object>) pool).release(event);
+    }
+
+    // live Flint events must not escape to other threads, even via a subscriber to a non-Flint supertype
+    private static boolean isAsyncSafe(Object event) {
+        return !(event instanceof FlintEvent) || event instanceof SnapshottableEvent;
+    }
+
+    /**
+     * Returns whether any subscriber registered to this bus would receive an
+     * event of the given type.
+     *
+     * <p>A subscriber accepting any supertype of the given type (including
+     * interfaces) counts toward the result. The result is cached until the
+     * next registration change, so this method is cheap enough to call before
+     * each post.</p>
+     *
+     * @param eventType The runtime type of the event to be posted
+     * @return Whether any subscriber would receive an event of the given type
+     * @since 1.4
+     */
+    public boolean hasSubscribers(Class<?> eventType) {
+        return registrations.getSubscribers(eventType).length > 0;
+    }
+
+    /**
+     * Shuts down the asynchronous lane of this bus if it was created by the
+     * bus itself. Events already queued will still be delivered, but
+     * subsequent asynchronous deliveries will be performed on the posting
+     * thread.
+     *
+     * @since 1.4
+     */
+    public void shutdown() {
+        synchronized (executorLock) {
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+        }
+    }
+
+    private void dispatchAsync(final Object event, final Subscriber subscriber) {
+        try {
+            getAsyncExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    dispatch(event, subscriber);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            dispatch(event, subscriber);
+        }
+    }
+
+    private Executor getAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (executorLock) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+                    // running rejected tasks on the posting thread throttles posters when the lane saturates
+                    ownedExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<Runnable>(ASYNC_QUEUE_CAPACITY),
+                            new ThreadFactoryBuilder().setNameFormat("Flint Event Worker #%d").setDaemon(true).build(),
+                            new RejectedExecutionHandler() {
+                                @Override
+                                public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                                    task.run();
+                                }
+                            });
+                    executor = ownedExecutor;
+                    asyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Metrics are disabled by default, as recording them requires reading
+     * the system clock twice per subscriber invocation.</p>
+     *
+     * @since 1.4
+     */
+    @Override
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.4
+     */
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metricsEnabled = enabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.4
+     */
+    @Override
+    public ImmutableList<ListenerMetrics> getListenerMetrics() {
+        List<ListenerMetrics> metrics = new ArrayList<>();
+        for (Subscriber subscriber : registrations.subscribers.values()) {
+            String name = subscriber.method.getDeclaringClass().getName() + "#" + subscriber.method.getName();
+            for (Map.Entry<Class<?>, LatencyHistogram> entry : subscriber.latencies.entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                metrics.add(new ListenerMetrics(name, entry.getKey().getName(), histogram.getCount(),
+                        histogram.getTotal(), histogram.getPercentile(0.99), histogram.getMax()));
+            }
+        }
+        Collections.sort(metrics, new Comparator<ListenerMetrics>() {
+            @Override
+            public int compare(ListenerMetrics a, ListenerMetrics b) {
+                return Long.compare(b.getTotalTimeNanos(), a.getTotalTimeNanos());
+            }
+        });
+        return ImmutableList.copyOf(metrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.4
+     */
+    @Override
+    public void resetMetrics() {
+        for (Subscriber subscriber : registrations.subscribers.values()) {
+            subscriber.latencies.clear();
+        }
+    }
+
+    /**
+     * Registers this bus with the platform {@link MBeanServer} as a
+     * {@link FlintEventBusMXBean}, named
+     * {@code net.caseif.flint:type=EventBus,name=<identifier>}.
+     *
+     * @return The name under which this bus was registered
+     * @throws JMException If registration fails (for instance, because a bus
+     *     with the same identifier is already registered)
+     * @since 1.4
+     */
+    public ObjectName registerMBean() throws JMException {
+        ObjectName name = new ObjectName("net.caseif.flint:type=EventBus,name=" + ObjectName.quote(identifier));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+        mbeanName.set(name);
+        return name;
+    }
+
+    /**
+     * Unregisters this bus from the platform {@link MBeanServer}, if it was
+     * registered via {@link #registerMBean()}.
+     *
+     * @throws JMException If unregistration fails
+     * @since 1.4
+     */
+    public void unregisterMBean() throws JMException {
+        ObjectName name = mbeanName.getAndSet(null);
+        if (name != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    void dispatch(Object event, Subscriber subscriber) {
+        boolean timed = metricsEnabled;
+        long start = timed ? System.nanoTime() : 0;
+        try {
+            subscriber.invoke(event);
+        } catch (Throwable t) {
+            logger.log(Level.SEVERE, "Could not dispatch event: " + subscriber.target + " to "
+                    + subscriber.method, t);
+        }
+        if (timed) {
+            subscriber.recordLatency(event.getClass(), System.nanoTime() - start);
+        }
+    }
+
+    Subscriber createSubscriber(Object target, Method method) {
+        return new Subscriber(target, method);
+    }
+
+    // mirrors the subscriber discovery of EventBus: public methods annotated anywhere in the type hierarchy
+    ImmutableList<Method> getSubscriberMethods(Class<?> clazz) throws IllegalArgumentException {
+        ImmutableList<Method> cached = subscriberMethods.get(clazz);
+        if (cached != null) {
+            return cached;
+        }
+        Set<? extends Class<?>> hierarchy = TypeToken.of(clazz).getTypes().rawTypes();
+        ImmutableList.Builder<Method> methods = ImmutableList.builder();
+        for (Method method : clazz.getMethods()) {
+            if (method.isBridge() || !isSubscriber(method, hierarchy)) {
+                continue;
+            }
+            int params = method.getParameterTypes().length;
+            checkArgument(params == 1, "Method " + method + " has @Subscribe annotation but has " + params
+                    + " parameters. Subscriber methods must have exactly 1 parameter.");
+            methods.add(method);
+        }
+        cached = methods.build();
+        subscriberMethods.putIfAbsent(clazz, cached);
+        return cached;
+    }
+
+    private static boolean isSubscriber(Method method, Set<? extends Class<?>> hierarchy) {
+        for (Class<?> type : hierarchy) {
+            try {
+                if (type.getMethod(method.getName(), method.getParameterTypes()).isAnnotationPresent(Subscribe.class)) {
+                    return true;
+                }
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A single subscriber method bound to its target.
+     */
+    static class Subscriber {
+
+        final Object target;
+        final Method method;
+        final boolean async;
+        private final boolean concurrent;
+        private final MethodHandle handle;
+
+        final ConcurrentMap<Class<?>, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+        Subscriber(Object target, Method method) {
+            this.target = target;
+            this.method = method;
+            this.async = method.isAnnotationPresent(AsyncSubscribe.class);
+            this.concurrent = method.isAnnotationPresent(AllowConcurrentEvents.class);
+            try {
+                // subscribers may be public methods of non-public classes
+                method.setAccessible(true);
+                this.handle = MethodHandles.lookup().unreflect(method).bindTo(target).asType(SUBSCRIBER_TYPE);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalArgumentException("Cannot access subscriber method " + method, ex);
+            }
+        }
+
+        void invoke(Object event) throws Throwable {
+            if (concurrent) {
+                handle.invokeExact(event);
+            } else {
+                synchronized (this) {
+                    handle.invokeExact(event);
+                }
+            }
+        }
+
+        void recordLatency(Class<?> eventType, long nanos) {
+            LatencyHistogram histogram = latencies.get(eventType);
+            if (histogram == null) {
+                LatencyHistogram created = new LatencyHistogram();
+                histogram = latencies.putIfAbsent(eventType, created);
+                if (histogram == null) {
+                    histogram = created;
+                }
+            }
+            histogram.record(nanos);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Subscriber)) {
+                return false;
+            }
+            Subscriber other = (Subscriber) obj;
+            return target == other.target && method.equals(other.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 + method.hashCode()) * 31 + System.identityHashCode(target);
+        }
+
+    }
+
+    private static final class Registrations {
+
+        private final ImmutableSetMultimap<Class<?>, Subscriber> subscribers;
+        private final ConcurrentMap<Class<?>, Subscriber[]> dispatchCache = new ConcurrentHashMap<>();
+
+        private Registrations(ImmutableSetMultimap<Class<?>, Subscriber> subscribers) {
+            this.subscribers = subscribers;
+        }
+
+        private Subscriber[] getSubscribers(Class<?> eventType) {
+            Subscriber[] cached = dispatchCache.get(eventType);
+            if (cached != null) {
+                return cached;
+            }
+            if (subscribers.isEmpty()) {
+                cached = NO_SUBSCRIBERS;
+            } else {
+                List<Subscriber> flattened = new ArrayList<>();
+                for (Class<?> type : TypeToken.of(eventType).getTypes().rawTypes()) {
+                    flattened.addAll(subscribers.get(type));
+                }
+                cached = flattened.toArray(new Subscriber[flattened.size()]);
+            }
+            dispatchCache.putIfAbsent(eventType, cached);
+            return cached;
+        }
+
+    }
+
+    private static final class DispatchQueue {
+
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private boolean dispatching;
+
+    }
+
+    private static final class Entry {
+
+        private final Object event;
+        private final Subscriber[] subscribers;
+        private final boolean syncOnly;
+        private final Object pooled;
+        private final EventPool<?> pool;
+
+        private Entry(Object event, Subscriber[] subscribers, boolean syncOnly, Object pooled, EventPool<?> pool) {
+            this.event = event;
+            this.subscribers = subscribers;
+            this.syncOnly = syncOnly;
+            this.pooled = pooled;
+            this.pool = pool;
+        }
+
+        private void release() {
+            if (pool != null) {
+                FlintEventBus.release(pool, pooled);
+            }
+        }
+
+    }
+
+}
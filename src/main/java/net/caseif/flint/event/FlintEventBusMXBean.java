@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import java.util.List;
+
+/**
+ * The management interface of a {@link FlintEventBus}, exposed over JMX by
+ * {@link FlintEventBus#registerMBean()}.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface FlintEventBusMXBean {
+
+    /**
+     * Returns whether per-listener metrics are being recorded.
+     *
+     * @return Whether per-listener metrics are being recorded
+     * @since 1.4
+     */
+    boolean isMetricsEnabled();
+
+    /**
+     * Sets whether per-listener metrics are recorded.
+     *
+     * @param enabled Whether per-listener metrics should be recorded
+     * @since 1.4
+     */
+    void setMetricsEnabled(boolean enabled);
+
+    /**
+     * Gets the metrics recorded for each currently registered subscriber and
+     * event type, ordered by descending total time.
+     *
+     * @return The recorded metrics
+     * @since 1.4
+     */
+    List<ListenerMetrics> getListenerMetrics();
+
+    /**
+     * Discards all recorded metrics.
+     *
+     * @since 1.4
+     */
+    void resetMetrics();
+
+}
@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import java.beans.ConstructorProperties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable summary of the invocations of a single subscriber method of a
+ * {@link FlintEventBus} for a single event type.
+ *
+ * <p>Latencies are measured from the start to the end of each invocation,
+ * including any time spent waiting for a concurrent invocation of the same
+ * subscriber to complete.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public final class ListenerMetrics {
+
+    private final String subscriber;
+    private final String eventType;
+    private final long invocationCount;
+    private final long totalTimeNanos;
+    private final long p99TimeNanos;
+    private final long maxTimeNanos;
+
+    /**
+     * Constructs a new {@link ListenerMetrics} summary.
+     *
+     * @param subscriber The name of the subscriber method
+     * @param eventType The name of the event type
+     * @param invocationCount The number of invocations
+     * @param totalTimeNanos The total time spent in the subscriber
+     * @param p99TimeNanos The 99th percentile invocation latency
+     * @param maxTimeNanos The maximum invocation latency
+     * @since 1.4
+     */
+    @ConstructorProperties({"subscriber", "eventType", "invocationCount", "totalTimeNanos", "p99TimeNanos",
+            "maxTimeNanos"})
+    public ListenerMetrics(String subscriber, String eventType, long invocationCount, long totalTimeNanos,
+                           long p99TimeNanos, long maxTimeNanos) {
+        this.subscriber = subscriber;
+        this.eventType = eventType;
+        this.invocationCount = invocationCount;
+        this.totalTimeNanos = totalTimeNanos;
+        this.p99TimeNanos = p99TimeNanos;
+        this.maxTimeNanos = maxTimeNanos;
+    }
+
+    /**
+     * Gets the name of the subscriber method, in the form
+     * {@code fully.qualified.ClassName#methodName}.
+     *
+     * @return The name of the subscriber method
+     * @since 1.4
+     */
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    /**
+     * Gets the fully-qualified name of the runtime type of the events
+     * delivered to the subscriber.
+     *
+     * @return The name of the event type
+     * @since 1.4
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Gets the number of times the subscriber was invoked.
+     *
+     * @return The number of invocations
+     * @since 1.4
+     */
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * Gets the total time spent in the subscriber, in nanoseconds.
+     *
+     * @return The total time spent in the subscriber
+     * @since 1.4
+     */
+    public long getTotalTimeNanos() {
+        return totalTimeNanos;
+    }
+
+    /**
+     * Gets an upper bound of the 99th percentile invocation latency, in
+     * nanoseconds.
+     *
+     * @return The 99th percentile invocation latency
+     * @since 1.4
+     */
+    public long getP99TimeNanos() {
+        return p99TimeNanos;
+    }
+
+    /**
+     * Gets the maximum invocation latency, in nanoseconds.
+     *
+     * @return The maximum invocation latency
+     * @since 1.4
+     */
+    public long getMaxTimeNanos() {
+        return maxTimeNanos;
+    }
+
+    /**
+     * Gets the mean invocation latency in the given {@link TimeUnit}.
+     *
+     * @param unit The {@link TimeUnit} to express the latency in
+     * @return The mean invocation latency, or {@code 0} if the subscriber has
+     *     not been invoked
+     * @since 1.4
+     */
+    public long getMeanTime(TimeUnit unit) {
+        return invocationCount == 0 ? 0 : unit.convert(totalTimeNanos / invocationCount, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return subscriber + "(" + eventType + "): " + invocationCount + " invocations, "
+                + totalTimeNanos + "ns total, " + p99TimeNanos + "ns p99, " + maxTimeNanos + "ns max";
+    }
+
+}
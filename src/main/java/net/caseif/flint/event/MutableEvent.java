@@ -0,0 +1,44 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+/**
+ * Represents a {@link FlintEvent} which subscribers may modify in order to
+ * influence the outcome of the action which triggered it.
+ *
+ * <p>Such events are delivered to every synchronous subscriber before any
+ * {@link AsyncSubscribe asynchronous} subscriber, so that modifications
+ * take effect before the post completes. Asynchronous subscribers only
+ * receive a {@link SnapshottableEvent#snapshot() snapshot} taken after the
+ * synchronous subscribers have run, so a mutable event must also be a
+ * {@link SnapshottableEvent} in order to be received asynchronously. Such a
+ * snapshot is read-only; modifying it has no effect on the outcome of the
+ * action.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface MutableEvent extends FlintEvent {
+}
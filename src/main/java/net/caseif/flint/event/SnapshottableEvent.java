@@ -0,0 +1,50 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+/**
+ * Represents a {@link FlintEvent} which can produce a snapshot of itself for
+ * delivery to {@link AsyncSubscribe asynchronous} subscribers.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface SnapshottableEvent extends FlintEvent {
+
+    /**
+     * Creates a copy of this event which is detached from live game state and
+     * may therefore be safely read from any thread.
+     *
+     * <p>The snapshot must implement every event interface implemented by this
+     * event, as it is delivered to the same subscribers. This is invoked at
+     * most once per post, regardless of the number of asynchronous
+     * subscribers.</p>
+     *
+     * @return A snapshot of this event
+     * @since 1.4
+     */
+    FlintEvent snapshot();
+
+}
@@ -25,15 +25,21 @@
 package net.caseif.flint.event.round;
 
 import net.caseif.flint.event.FlintEvent;
+import net.caseif.flint.event.SnapshottableEvent;
 import net.caseif.flint.round.Round;
+import net.caseif.flint.round.RoundSnapshot;
 
 /**
  * Represents a {@link FlintEvent} involving a {@link Round}.
  *
+ * <p>As of 1.4, round events are {@link SnapshottableEvent}s, and so may be
+ * received by {@link net.caseif.flint.event.AsyncSubscribe asynchronous}
+ * subscribers.</p>
+ *
  * @author Max Roncace
  * @since 1.0
  */
-public interface RoundEvent extends FlintEvent {
+public interface RoundEvent extends SnapshottableEvent {
 
     /**
      * Gets the {@link Round} involved in this event.
@@ -43,4 +49,32 @@ public interface RoundEvent extends FlintEvent {
      */
     Round getRound();
 
+    /**
+     * Gets a snapshot of the state of the {@link Round} involved in this event
+     * as of when it was posted.
+     *
+     * <p>The snapshot is captured once and shared by every listener, so
+     * listeners which need to inspect the {@link Round}'s membership should
+     * prefer it to querying the {@link Round} directly.</p>
+     *
+     * @return A snapshot of the {@link Round} involved in this event
+     * @since 1.4
+     */
+    RoundSnapshot getRoundSnapshot();
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@link #getRoundSnapshot() round snapshot} of the returned event
+     * is the same as that of this event. Asynchronous subscribers should read
+     * the state of the {@link Round} from it rather than from
+     * {@link #getRound()}, as the latter is a live object which may only be
+     * safely accessed from the server's main thread.</p>
+     *
+     * @return A snapshot of this event
+     * @since 1.4
+     */
+    @Override
+    RoundEvent snapshot();
+
 }
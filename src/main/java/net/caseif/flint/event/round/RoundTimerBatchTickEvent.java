@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event.round;
+
+import net.caseif.flint.event.FlintEvent;
+import net.caseif.flint.round.Round;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Called once per server tick with every {@link Round} of a minigame whose
+ * timer ticked during it, in lieu of a separate {@link RoundTimerTickEvent}
+ * for each.
+ *
+ * <p>This event is only posted when
+ * {@link net.caseif.flint.config.ConfigNode#TIMER_TICK_EVENT_MODE} is set to
+ * {@link net.caseif.flint.round.TimerTickEventMode#BATCHED}, in which case no
+ * {@link RoundTimerTickEvent}s are posted.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface RoundTimerBatchTickEvent extends FlintEvent {
+
+    /**
+     * Gets the {@link Round}s whose timers ticked, in the order in which they
+     * ticked.
+     *
+     * <p>The new time of each {@link Round} may be retrieved via
+     * {@link Round#getTime()}.</p>
+     *
+     * @return The {@link Round}s whose timers ticked
+     * @since 1.4
+     */
+    ImmutableList<Round> getRounds();
+
+}
@@ -25,6 +25,7 @@
 package net.caseif.flint.event.round.challenger;
 
 import net.caseif.flint.challenger.Challenger;
+import net.caseif.flint.event.MutableEvent;
 import net.caseif.flint.util.physical.Location3D;
 
 /**
@@ -35,10 +36,14 @@ import net.caseif.flint.util.physical.Location3D;
  * {@link Challenger} is invalidated and before the player is teleported, so as
  * to allow the return location to be modified.</p>
  *
+ * <p>{@link net.caseif.flint.event.AsyncSubscribe Asynchronous} subscribers
+ * receive a read-only {@link #snapshot() snapshot} reflecting the return
+ * location set by synchronous subscribers.</p>
+ *
  * @author Max Roncace
  * @since 1.0
  */
-public interface ChallengerLeaveRoundEvent extends ChallengerEvent {
+public interface ChallengerLeaveRoundEvent extends ChallengerEvent, MutableEvent {
 
     /**
      * Gets the {@link Location3D} the subject of this event will be moved to.
@@ -51,10 +56,26 @@ public interface ChallengerLeaveRoundEvent extends ChallengerEvent {
     /**
      * Sets the {@link Location3D} the subject of this event will be moved to.
      *
+     * <p>Snapshots of this event are read-only, as they are only created once
+     * the return location can no longer be changed.</p>
+     *
      * @param location The {@link Location3D} the subject of this event will be
      *     moved to
+     * @throws UnsupportedOperationException If this event is a snapshot
      * @since 1.0
      */
-    void setReturnLocation(Location3D location);
+    void setReturnLocation(Location3D location) throws UnsupportedOperationException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned event is read-only and reports the return location as
+     * set by synchronous subscribers.</p>
+     *
+     * @return A read-only snapshot of this event
+     * @since 1.4
+     */
+    @Override
+    ChallengerLeaveRoundEvent snapshot();
 
 }
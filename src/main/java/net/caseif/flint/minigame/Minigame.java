@@ -64,6 +64,10 @@ public interface Minigame extends ComponentOwner {
     /**
      * Gets this {@link Minigame}'s {@link EventBus}.
      *
+     * <p>Implementations may return a
+     * {@link net.caseif.flint.event.FlintEventBus}, which additionally tracks
+     * the event types its subscribers accept.</p>
+     *
      * @return This {@link Minigame}'s {@link EventBus}.
      * @since 1.0
      */
@@ -123,6 +127,37 @@ public interface Minigame extends ComponentOwner {
      */
     Optional<Arena> getArena(String arenaId);
 
+    /**
+     * Gets the {@link Arena} whose {@link Boundary} contains the given
+     * {@link Location3D}, if any.
+     *
+     * <p>Implementations are expected to back this method with a spatial
+     * index (see {@link net.caseif.flint.util.physical.BoundaryIndex}) kept
+     * up-to-date by {@link Arena#setBoundary(Boundary)}, such that it does not
+     * need to check each {@link Arena} in turn.</p>
+     *
+     * <p>If the boundaries of multiple {@link Arena}s contain the location, it
+     * is unspecified which of them is returned.</p>
+     *
+     * @param location The {@link Location3D} to look up
+     * @return The {@link Arena} containing the given {@link Location3D}, or
+     *     {@link Optional#absent()} if none exists
+     * @since 1.4
+     */
+    Optional<Arena> getArenaAt(Location3D location);
+
+    /**
+     * Gets an {@link ImmutableList} containing all {@link Arena}s owned by this
+     * {@link Minigame} whose {@link Boundary Boundaries} intersect the given
+     * {@link Boundary}.
+     *
+     * @param boundary The {@link Boundary} to check against
+     * @return An {@link ImmutableList} containing all {@link Arena}s
+     *     intersecting the given {@link Boundary}
+     * @since 1.4
+     */
+    ImmutableList<Arena> getArenasIntersecting(Boundary boundary);
+
     /**
      * Creates and stores a new {@link Arena} within this {@link Minigame} with
      * the given identifier, name, and initial spawn point.
@@ -197,6 +232,32 @@ public interface Minigame extends ComponentOwner {
     @Orphaner
     void removeArena(Arena arena) throws IllegalArgumentException;
 
+    /**
+     * Rolls back every {@link Arena} owned by this {@link Minigame} which has
+     * had a {@link Round} take place in it since it was last rolled back.
+     *
+     * <p>Unlike invoking {@link Arena#rollback()} upon each {@link Arena} in
+     * turn, the work which does not touch the world (reading and
+     * decompressing rollback data and sorting it by chunk section) is
+     * performed for all arenas in parallel on a bounded pool of
+     * {@link ConfigNode#ROLLBACK_WORKER_THREADS} worker threads (see
+     * {@link net.caseif.flint.util.rollback.ParallelRollbackPreparer}). Only
+     * the final writes to the world are applied on the calling thread, which
+     * must be the server's main thread.</p>
+     *
+     * <p>This is primarily intended for use during server shutdown and mass
+     * resets, and blocks until all arenas have been restored.</p>
+     *
+     * @return An {@link ImmutableList} of the {@link Arena}s which were rolled
+     *     back
+     * @throws IllegalStateException If an {@link Arena} is currently being
+     *     rolled back incrementally (see {@link Arena#rollbackAsync(int)})
+     * @throws net.caseif.flint.exception.rollback.RollbackException If an
+     *     exception occurs while rolling back any {@link Arena}
+     * @since 1.4
+     */
+    ImmutableList<Arena> rollbackAll() throws IllegalStateException;
+
     /**
      * Gets an {@link ImmutableList} containing all active {@link Round}s owned
      * by this {@link Minigame}.
@@ -211,12 +272,27 @@ public interface Minigame extends ComponentOwner {
      * Gets an {@link ImmutableList} containing all active {@link Challenger}s
      * owned by this {@link Minigame}.
      *
+     * <p>The returned list is cached (see {@link #getMembershipVersion()}).</p>
+     *
      * @return An immutable {@link ImmutableList} containing all active
      *     {@link Challenger}s owned by this {@link Minigame}.
      * @since 1.0
      */
     ImmutableList<Challenger> getChallengers();
 
+    /**
+     * Gets the membership version of this {@link Minigame}, which is
+     * incremented whenever a {@link Round} is created or ended, or a
+     * {@link Challenger} joins or leaves any of its {@link Round}s.
+     *
+     * <p>{@link #getChallengers()} is cached per version: until the version
+     * changes, repeated calls are cheap and return the same instance.</p>
+     *
+     * @return The membership version of this {@link Minigame}
+     * @since 1.4
+     */
+    long getMembershipVersion();
+
     /**
      * Gets the {@link Challenger} by the given UUID.
      *
@@ -24,27 +24,50 @@
 
 package net.caseif.flint.round;
 
+import com.google.common.primitives.Ints;
+
+import java.util.concurrent.TimeUnit;
+
 /**
  * Represents an immutable lifecycle stage of a {@link Round}.
  *
+ * <p>Durations are stored with millisecond precision; a negative duration
+ * denotes an untimed stage.</p>
+ *
  * @author Max Roncace
  * @since 1.0
  */
 public final class LifecycleStage {
 
     private final String id;
-    private final int duration;
+    private final long durationMillis;
 
     /**
      * Constructs a new {@link LifecycleStage} with the given ID and duration.
      *
      * @param id The stage's ID
-     * @param duration The duration of the stage
+     * @param duration The duration of the stage in seconds
      * @since 1.0
      */
     public LifecycleStage(String id, int duration) {
+        this(id, duration, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a new {@link LifecycleStage} with the given ID and duration.
+     *
+     * <p>Durations finer than a millisecond are truncated.</p>
+     *
+     * @param id The stage's ID
+     * @param duration The duration of the stage, or a negative value if the
+     *     stage is untimed
+     * @param unit The {@link TimeUnit} of {@code duration}
+     * @since 1.4
+     */
+    public LifecycleStage(String id, long duration, TimeUnit unit) {
         this.id = id;
-        this.duration = duration;
+        // negative durations keep their magnitude so that getDuration() reports them as before
+        this.durationMillis = unit.toMillis(duration);
     }
 
     /**
@@ -58,13 +81,35 @@ public final class LifecycleStage {
     }
 
     /**
-     * Gets the duration of this {@link LifecycleStage}.
+     * Gets the duration of this {@link LifecycleStage} in seconds.
      *
-     * @return The duration of this {@link LifecycleStage}
+     * <p>Sub-second durations are truncated. For an untimed stage, this
+     * returns the negative duration it was constructed with, or {@code -1} if
+     * that duration was shorter than a second.</p>
+     *
+     * @return The duration of this {@link LifecycleStage} in seconds
      * @since 1.0
      */
     public final int getDuration() {
-        return this.duration;
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(durationMillis);
+        if (durationMillis < 0 && seconds == 0) {
+            // a negative sub-second duration would otherwise truncate to 0 and read as a timed stage
+            return -1;
+        }
+        return Ints.saturatedCast(seconds);
+    }
+
+    /**
+     * Gets the duration of this {@link LifecycleStage} in the given
+     * {@link TimeUnit}.
+     *
+     * @param unit The {@link TimeUnit} to express the duration in
+     * @return The duration of this {@link LifecycleStage}, or {@code -1} if it
+     *     is untimed
+     * @since 1.4
+     */
+    public final long getDuration(TimeUnit unit) {
+        return durationMillis < 0 ? -1 : unit.convert(durationMillis, TimeUnit.MILLISECONDS);
     }
 
 }
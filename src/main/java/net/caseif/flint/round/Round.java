@@ -44,6 +44,7 @@ import com.google.common.collect.ImmutableSet;
 
 import java.io.Serializable;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents an active minigame {@link Round} backed by Flint.
@@ -71,6 +72,8 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
      * Returns an {@link ImmutableList} of {@link Challenger}s in this
      * {@link Round}.
      *
+     * <p>The returned list is cached (see {@link #getMembershipVersion()}).</p>
+     *
      * @return An {@link ImmutableList} of {@link Challenger}s in this
      * {@link Round}
      * @throws OrphanedComponentException If this object is orphaned (see
@@ -258,6 +261,8 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
      * Returns the subset of {@link Challenger}s in this {@link Round} who are
      * marked as spectating.
      *
+     * <p>The returned list is cached (see {@link #getMembershipVersion()}).</p>
+     *
      * @return The subset of {@link Challenger}s in this {@link Round} who are
      * marked as spectating
      * @throws OrphanedComponentException If this object is orphaned (see
@@ -266,6 +271,24 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
      */
     ImmutableList<Challenger> getSpectators() throws OrphanedComponentException;
 
+    /**
+     * Gets the membership version of this {@link Round}, which is incremented
+     * whenever a {@link Challenger} joins or leaves it, starts or stops
+     * spectating, or a {@link Team} is added to or removed from it.
+     *
+     * <p>{@link #getChallengers()} and {@link #getSpectators()} are cached per
+     * version: until the version changes, repeated calls are cheap and return
+     * the same instance. Callers which derive other state from this
+     * {@link Round}'s membership may likewise compare versions to detect
+     * whether it must be recomputed.</p>
+     *
+     * @return The membership version of this {@link Round}
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    long getMembershipVersion() throws OrphanedComponentException;
+
     /**
      * Broadcasts the string {@code message} to all {@link Challenger}s in
      * this {@link Round}.
@@ -394,6 +417,22 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
      */
     long getTime() throws OrphanedComponentException;
 
+    /**
+     * Gets the current state of this {@link Round}'s timer in the given
+     * {@link TimeUnit}.
+     *
+     * <p>The precision of the result is bounded by
+     * {@link ConfigNode#TIMER_RESOLUTION}; with the default resolution, this
+     * is equivalent to converting the result of {@link #getTime()}.</p>
+     *
+     * @param unit The {@link TimeUnit} to express the timer's state in
+     * @return The current state of this {@link Round}'s timer
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    long getTime(TimeUnit unit) throws OrphanedComponentException;
+
     /**
      * Sets the current state of this {@link Round}'s timer in seconds.
      *
@@ -404,6 +443,18 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
      */
     void setTime(long time) throws OrphanedComponentException;
 
+    /**
+     * Sets the current state of this {@link Round}'s timer in the given
+     * {@link TimeUnit}.
+     *
+     * @param time The current state of this {@link Round}'s timer
+     * @param unit The {@link TimeUnit} of {@code time}
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    void setTime(long time, TimeUnit unit) throws OrphanedComponentException;
+
     /**
      * Gets the time in seconds until this {@link Round} is due to change
      * its {@link LifecycleStage lifecycle stage}.
@@ -417,6 +468,20 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
      */
     long getRemainingTime() throws OrphanedComponentException;
 
+    /**
+     * Gets the time in the given {@link TimeUnit} until this {@link Round} is
+     * due to change its {@link LifecycleStage lifecycle stage}.
+     *
+     * @param unit The {@link TimeUnit} to express the remaining time in
+     * @return The time until this {@link Round} is due to change its
+     *     {@link LifecycleStage lifecycle stage}, or {@code -1} if the
+     *     current stage is untimed
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    long getRemainingTime(TimeUnit unit) throws OrphanedComponentException;
+
     /**
      * Returns whether this {@link Round}'s timer is currently ticking.
      *
@@ -447,6 +512,51 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
      */
     void resetTimer() throws OrphanedComponentException;
 
+    /**
+     * Schedules the given task to run when this {@link Round}'s timer reaches
+     * the given value in seconds (see {@link #getTime()}).
+     *
+     * <p>The task will run on the server's main thread upon the first tick
+     * (or other change) of the timer at which its value is greater than or
+     * equal to {@code time}. If the timer has already reached the given value,
+     * the task will run upon its next tick.</p>
+     *
+     * <p>Scheduled tasks are bound to the current
+     * {@link LifecycleStage lifecycle stage}, and are cancelled automatically
+     * if this {@link Round} changes stage or is orphaned before they run.
+     * Implementations are expected to keep pending tasks in a priority
+     * structure (such as
+     * {@link net.caseif.flint.util.time.DeadlineQueue}), such that a timer
+     * tick costs nothing unless a task is due.</p>
+     *
+     * @param time The timer value in seconds at which to run the task
+     * @param task The task to run
+     * @return A {@link ScheduledTask} which may be used to cancel the task
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    ScheduledTask schedule(long time, Runnable task) throws OrphanedComponentException;
+
+    /**
+     * Schedules the given task to run when the given amount of time remains
+     * in this {@link Round}'s current {@link LifecycleStage lifecycle stage}.
+     *
+     * <p>This is equivalent to invoking {@link #schedule(long, Runnable)} with
+     * the duration of the current stage less {@code remainingTime}.</p>
+     *
+     * @param remainingTime The remaining time in seconds at which to run the
+     *     task
+     * @param task The task to run
+     * @return A {@link ScheduledTask} which may be used to cancel the task
+     * @throws IllegalStateException If the current stage is untimed
+     * @throws OrphanedComponentException If this object is orphaned (see
+     *     {@link Component} for details)
+     * @since 1.4
+     */
+    ScheduledTask scheduleAtRemaining(long remainingTime, Runnable task) throws IllegalStateException,
+            OrphanedComponentException;
+
     /**
      * Ends this {@link Round} by resetting its timer, removing all
      * {@link Challenger}s and returning them to their original locations, and
@@ -581,6 +691,16 @@ public interface Round extends MetadataHolder, ComponentOwner, Component<Arena>
              * @since 1.3
              */
             SKIP_ROLLBACK,
+
+            /**
+             * Indicates that the {@link Arena} should be rolled back
+             * incrementally upon the {@link Round} ending, restoring at most
+             * {@link ConfigNode#ROLLBACK_RECORDS_PER_TICK} records per server
+             * tick (see {@link Arena#rollbackAsync(int)}).
+             *
+             * @since 1.4
+             */
+            DO_INCREMENTAL_ROLLBACK,
         }
     }
 
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.round;
+
+import net.caseif.flint.arena.Arena;
+import net.caseif.flint.challenger.Challenger;
+import net.caseif.flint.challenger.Team;
+import net.caseif.flint.component.exception.OrphanedComponentException;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable, point-in-time view of the state of a {@link Round}.
+ *
+ * <p>A single snapshot may be shared by any number of consumers (for
+ * instance, every listener of an event; see
+ * {@link net.caseif.flint.event.round.RoundEvent#getRoundSnapshot()}), such
+ * that the {@link Round}'s membership lists are copied once rather than once
+ * per consumer. Snapshots remain readable after their {@link Round} has been
+ * orphaned and may be safely read from any thread, although the
+ * {@link Challenger}s and {@link Team}s they contain are live objects.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public final class RoundSnapshot {
+
+    private final Round round;
+    private final Arena arena;
+    private final LifecycleStage lifecycleStage;
+    private final long timeMillis;
+    private final long remainingTimeMillis;
+    private final boolean timerTicking;
+    private final ImmutableList<Challenger> challengers;
+    private final ImmutableList<Challenger> spectators;
+    private final ImmutableList<Team> teams;
+
+    private RoundSnapshot(Round round) {
+        this.round = round;
+        this.arena = round.getArena();
+        this.lifecycleStage = round.getLifecycleStage();
+        this.timeMillis = round.getTime(TimeUnit.MILLISECONDS);
+        this.remainingTimeMillis = round.getRemainingTime(TimeUnit.MILLISECONDS);
+        this.timerTicking = round.isTimerTicking();
+        this.challengers = round.getChallengers();
+        this.spectators = round.getSpectators();
+        this.teams = round.getTeams();
+    }
+
+    /**
+     * Captures a snapshot of the current state of the given {@link Round}.
+     *
+     * @param round The {@link Round} to capture
+     * @return A snapshot of the given {@link Round}'s current state
+     * @throws OrphanedComponentException If the {@link Round} is orphaned
+     * @since 1.4
+     */
+    public static RoundSnapshot of(Round round) throws OrphanedComponentException {
+        return new RoundSnapshot(round);
+    }
+
+    /**
+     * Gets the {@link Round} this snapshot was captured from.
+     *
+     * @return The {@link Round} this snapshot was captured from
+     * @since 1.4
+     */
+    public Round getRound() {
+        return round;
+    }
+
+    /**
+     * Gets the {@link Arena} of the {@link Round}.
+     *
+     * @return The {@link Arena} of the {@link Round}
+     * @since 1.4
+     */
+    public Arena getArena() {
+        return arena;
+    }
+
+    /**
+     * Gets the {@link LifecycleStage} of the {@link Round} at the time of
+     * capture.
+     *
+     * @return The {@link LifecycleStage} of the {@link Round}
+     * @since 1.4
+     */
+    public LifecycleStage getLifecycleStage() {
+        return lifecycleStage;
+    }
+
+    /**
+     * Gets the state of the {@link Round}'s timer at the time of capture.
+     *
+     * @param unit The {@link TimeUnit} to express the timer's state in
+     * @return The state of the {@link Round}'s timer
+     * @since 1.4
+     */
+    public long getTime(TimeUnit unit) {
+        return unit.convert(timeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the time which remained in the {@link Round}'s
+     * {@link LifecycleStage} at the time of capture.
+     *
+     * @param unit The {@link TimeUnit} to express the remaining time in
+     * @return The remaining time, or {@code -1} if the stage is untimed
+     * @since 1.4
+     */
+    public long getRemainingTime(TimeUnit unit) {
+        return remainingTimeMillis < 0 ? -1 : unit.convert(remainingTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns whether the {@link Round}'s timer was ticking at the time of
+     * capture.
+     *
+     * @return Whether the {@link Round}'s timer was ticking
+     * @since 1.4
+     */
+    public boolean isTimerTicking() {
+        return timerTicking;
+    }
+
+    /**
+     * Gets the {@link Challenger}s in the {@link Round} at the time of capture.
+     *
+     * @return The {@link Challenger}s in the {@link Round}
+     * @since 1.4
+     */
+    public ImmutableList<Challenger> getChallengers() {
+        return challengers;
+    }
+
+    /**
+     * Gets the spectating {@link Challenger}s in the {@link Round} at the time
+     * of capture.
+     *
+     * @return The spectating {@link Challenger}s in the {@link Round}
+     * @since 1.4
+     */
+    public ImmutableList<Challenger> getSpectators() {
+        return spectators;
+    }
+
+    /**
+     * Gets the {@link Team}s in the {@link Round} at the time of capture.
+     *
+     * @return The {@link Team}s in the {@link Round}
+     * @since 1.4
+     */
+    public ImmutableList<Team> getTeams() {
+        return teams;
+    }
+
+}
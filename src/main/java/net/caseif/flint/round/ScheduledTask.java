@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.round;
+
+/**
+ * A handle to a task scheduled against a {@link Round}'s timer (see
+ * {@link Round#schedule(long, Runnable)}).
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface ScheduledTask {
+
+    /**
+     * Gets the {@link Round} this task is scheduled against.
+     *
+     * @return The {@link Round} this task is scheduled against
+     * @since 1.4
+     */
+    Round getRound();
+
+    /**
+     * Gets the value of the {@link Round}'s timer at which this task is due
+     * to run.
+     *
+     * @return The timer value at which this task is due to run
+     * @since 1.4
+     */
+    long getTime();
+
+    /**
+     * Returns whether this task has been cancelled, either explicitly or as a
+     * consequence of its {@link Round} changing lifecycle stage or being
+     * orphaned.
+     *
+     * @return Whether this task has been cancelled
+     * @since 1.4
+     */
+    boolean isCancelled();
+
+    /**
+     * Returns whether this task has run.
+     *
+     * @return Whether this task has run
+     * @since 1.4
+     */
+    boolean isDone();
+
+    /**
+     * Cancels this task, preventing it from running.
+     *
+     * @return {@code true} if this task was cancelled; {@code false} if it had
+     *     already run or been cancelled
+     * @since 1.4
+     */
+    boolean cancel();
+
+}
@@ -0,0 +1,58 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.round;
+
+/**
+ * The mode by which a {@link Round}'s timer advances.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public enum TimerMode {
+
+    /**
+     * The timer will advance by a fixed amount for each elapsed server tick.
+     *
+     * <p>This is consistent with the behavior of previous versions, but will
+     * cause the timer to drift behind real time while the server is unable
+     * to maintain its nominal tick rate.</p>
+     *
+     * @since 1.4
+     */
+    TICK_COUNTED,
+    /**
+     * The timer will advance by the real time elapsed according to a
+     * monotonic clock, compensating for server lag.
+     *
+     * <p>Lifecycle stage transitions which become due simultaneously while
+     * catching up are spread across subsequent ticks (see
+     * {@link net.caseif.flint.config.ConfigNode#MAX_CATCH_UP_TRANSITIONS_PER_TICK}),
+     * such that they do not all fire within a single tick.</p>
+     *
+     * @since 1.4
+     */
+    MONOTONIC
+
+}
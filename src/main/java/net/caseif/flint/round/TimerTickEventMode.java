@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.round;
+
+import net.caseif.flint.event.FlintEventBus;
+import net.caseif.flint.event.round.RoundTimerBatchTickEvent;
+import net.caseif.flint.event.round.RoundTimerTickEvent;
+
+/**
+ * The mode by which {@link RoundTimerTickEvent}s are dispatched.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public enum TimerTickEventMode {
+
+    /**
+     * A {@link RoundTimerTickEvent} will be posted for every tick of every
+     * {@link Round}'s timer, regardless of whether anything is listening for
+     * it.
+     *
+     * @since 1.4
+     */
+    ALWAYS,
+    /**
+     * A {@link RoundTimerTickEvent} will only be constructed and posted if
+     * the minigame's event bus has at least one subscriber which would
+     * receive it (see {@link FlintEventBus#hasSubscribers(Class)}).
+     *
+     * <p>Note that, unlike with {@link #ALWAYS}, no
+     * {@link com.google.common.eventbus.DeadEvent DeadEvent}s will be posted
+     * for unhandled tick events.</p>
+     *
+     * @since 1.4
+     */
+    SUBSCRIBED,
+    /**
+     * No {@link RoundTimerTickEvent}s will be posted. Instead, a single
+     * {@link RoundTimerBatchTickEvent} will be posted per server tick for all
+     * {@link Round}s whose timers ticked during it, if anything is listening
+     * for it.
+     *
+     * <p>As with {@link #SUBSCRIBED}, no
+     * {@link com.google.common.eventbus.DeadEvent DeadEvent}s will be posted
+     * for unhandled tick events.</p>
+     *
+     * @since 1.4
+     */
+    BATCHED
+
+}
@@ -0,0 +1,327 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive {@code long}s backed by an open-addressing hash table
+ * with linear probing.
+ *
+ * <p>Unlike a {@link java.util.HashSet} of boxed values, this set allocates no
+ * objects per element and requires roughly {@code 8 / loadFactor} bytes per
+ * element, making it suitable for tracking large numbers of packed block
+ * coordinates (see {@link net.caseif.flint.util.physical.BlockLocation}), such
+ * as those marked for rollback.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class LongHashSet {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // zero marks empty slots, so its membership is tracked separately
+    private static final long EMPTY = 0L;
+
+    private final float loadFactor;
+
+    private long[] table;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Constructs a new, empty {@link LongHashSet} with a default initial
+     * capacity.
+     *
+     * @since 1.4
+     */
+    public LongHashSet() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Constructs a new, empty {@link LongHashSet} able to hold the given
+     * number of elements without resizing.
+     *
+     * @param expectedSize The number of elements the set is expected to hold
+     * @throws IllegalArgumentException If {@code expectedSize} is negative
+     * @since 1.4
+     */
+    public LongHashSet(int expectedSize) throws IllegalArgumentException {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new, empty {@link LongHashSet} able to hold the given
+     * number of elements without resizing, with the given load factor.
+     *
+     * @param expectedSize The number of elements the set is expected to hold
+     * @param loadFactor The maximum ratio of elements to table slots before
+     *     the table is grown
+     * @throws IllegalArgumentException If {@code expectedSize} is negative or
+     *     {@code loadFactor} is not within the range {@code (0, 1)}
+     * @since 1.4
+     */
+    public LongHashSet(int expectedSize, float loadFactor) throws IllegalArgumentException {
+        checkArgument(expectedSize >= 0, "Expected size cannot be negative");
+        checkArgument(loadFactor > 0 && loadFactor < 1, "Load factor must be between 0 and 1 (exclusive)");
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Adds the given value to this set.
+     *
+     * @param value The value to add
+     * @return {@code true} if the value was not already present
+     * @since 1.4
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slotFor(value);
+        long cur;
+        while ((cur = table[slot]) != EMPTY) {
+            if (cur == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        if (++size > threshold) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether this set contains the given value.
+     *
+     * @param value The value to check for
+     * @return Whether this set contains the given value
+     * @since 1.4
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int slot = slotFor(value);
+        long cur;
+        while ((cur = table[slot]) != EMPTY) {
+            if (cur == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the given value from this set.
+     *
+     * @param value The value to remove
+     * @return {@code true} if the value was present
+     * @since 1.4
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int slot = slotFor(value);
+        long cur;
+        while ((cur = table[slot]) != EMPTY) {
+            if (cur == value) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of values contained by this set.
+     *
+     * @return The number of values contained by this set
+     * @since 1.4
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this set contains no values.
+     *
+     * @return Whether this set contains no values
+     * @since 1.4
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values from this set, retaining its current capacity.
+     *
+     * @since 1.4
+     */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Gets the number of slots in this set's backing table.
+     *
+     * <p>The table occupies approximately eight bytes per slot.</p>
+     *
+     * @return The number of slots in this set's backing table
+     * @since 1.4
+     */
+    public int getCapacity() {
+        return table.length;
+    }
+
+    /**
+     * Copies the values contained by this set into a new array, in no
+     * particular order.
+     *
+     * @return A new array containing the values of this set
+     * @since 1.4
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        if (containsZero) {
+            values[i++] = EMPTY;
+        }
+        for (long value : table) {
+            if (value != EMPTY) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    private int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+        int capacity = 2;
+        while (capacity < needed && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * loadFactor);
+    }
+
+    private void rehash(int newCapacity) {
+        checkState(newCapacity > 0 && newCapacity <= MAX_CAPACITY, "Set has reached its maximum capacity");
+        long[] old = table;
+        allocate(newCapacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                int slot = slotFor(value);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    // backward-shift deletion keeps probe sequences intact without tombstones
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int cur = slot;
+        while (true) {
+            cur = (cur + 1) & mask;
+            long value = table[cur];
+            if (value == EMPTY) {
+                break;
+            }
+            int ideal = slotFor(value);
+            // move the value into the gap if its ideal slot does not lie cyclically within (gap, cur]
+            if (((cur - ideal) & mask) >= ((cur - gap) & mask)) {
+                table[gap] = value;
+                gap = cur;
+            }
+        }
+        table[gap] = EMPTY;
+    }
+
+    private int slotFor(long value) {
+        return (int) mix(value) & mask;
+    }
+
+    /**
+     * Applies the MurmurHash3 64-bit finalizer to the given value.
+     *
+     * <p>This is the function used by {@link LongHashSet} to select slots, and
+     * is exposed so that structures layered over a set (such as filters in
+     * front of it) may share its hash rather than recomputing their own. It
+     * spreads packed coordinates, which otherwise cluster heavily in their low
+     * bits, across all 64 bits of the result.</p>
+     *
+     * @param value The value to mix
+     * @return The mixed value
+     * @since 1.4
+     */
+    public static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
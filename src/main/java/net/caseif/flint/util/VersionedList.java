@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A mutable list which caches an {@link ImmutableList} snapshot of its
+ * contents, rebuilding it only after a mutation.
+ *
+ * <p>This is intended for backing accessors such as
+ * {@link net.caseif.flint.round.Round#getChallengers()}, which return
+ * {@link ImmutableList}s and may be called many times per tick: repeated calls
+ * without an intervening mutation return the same instance without copying.
+ * Each effective mutation also increments a {@link #getVersion() version}
+ * counter, allowing callers to cheaply detect changes.</p>
+ *
+ * <p>Mutations are synchronized; {@link #snapshot()} and
+ * {@link #getVersion()} may be called from any thread and do not block
+ * unless a snapshot must be rebuilt.</p>
+ *
+ * @param <E> The type of element contained by the list
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class VersionedList<E> {
+
+    private final List<E> elements = new ArrayList<>();
+
+    private volatile ImmutableList<E> snapshot = ImmutableList.of();
+    private volatile long version;
+
+    /**
+     * Gets the current version of this list, which is incremented upon each
+     * mutation which changes its contents.
+     *
+     * @return The current version of this list
+     * @since 1.4
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets an {@link ImmutableList} containing the current contents of this
+     * list.
+     *
+     * @return An {@link ImmutableList} containing the current contents of this
+     *     list
+     * @since 1.4
+     */
+    public ImmutableList<E> snapshot() {
+        ImmutableList<E> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = ImmutableList.copyOf(elements);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Gets the number of elements in this list.
+     *
+     * @return The number of elements in this list
+     * @since 1.4
+     */
+    public int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * Returns whether this list contains the given element.
+     *
+     * @param element The element to check for
+     * @return Whether this list contains the given element
+     * @since 1.4
+     */
+    public boolean contains(Object element) {
+        return snapshot().contains(element);
+    }
+
+    /**
+     * Appends the given element to this list.
+     *
+     * <p>{@code null} elements are not permitted, since they could not be
+     * included in an {@link ImmutableList} snapshot.</p>
+     *
+     * @param element The element to append
+     * @throws NullPointerException If {@code element} is {@code null}
+     * @since 1.4
+     */
+    public synchronized void add(E element) throws NullPointerException {
+        elements.add(checkNotNull(element, "element"));
+        invalidate();
+    }
+
+    /**
+     * Removes the first occurrence of the given element from this list.
+     *
+     * @param element The element to remove
+     * @return Whether the list contained the element
+     * @since 1.4
+     */
+    public synchronized boolean remove(Object element) {
+        if (!elements.remove(element)) {
+            return false;
+        }
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Removes all occurrences of the given elements from this list.
+     *
+     * @param toRemove The elements to remove
+     * @return Whether the list was modified
+     * @since 1.4
+     */
+    public synchronized boolean removeAll(Collection<?> toRemove) {
+        if (!elements.removeAll(toRemove)) {
+            return false;
+        }
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Removes all elements from this list.
+     *
+     * @since 1.4
+     */
+    public synchronized void clear() {
+        if (elements.isEmpty()) {
+            return;
+        }
+        elements.clear();
+        invalidate();
+    }
+
+    private void invalidate() {
+        snapshot = null;
+        version++;
+    }
+
+}
@@ -0,0 +1,325 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Optional;
+
+import java.util.Arrays;
+
+/**
+ * Represents the location of a single block, optionally within a world.
+ *
+ * <p>Unlike {@link Location3D}, coordinates are integral and are packed into a
+ * single {@code long} (see {@link #pack(int, int, int)}), allowing
+ * implementations to key block-granular data such as rollback records by a
+ * primitive rather than an object. The x- and z-coordinates must fall within
+ * the range <code>[-2<sup>25</sup>, 2<sup>25</sup>)</code> and the
+ * y-coordinate within <code>[-2<sup>11</sup>, 2<sup>11</sup>)</code>.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public final class BlockLocation {
+
+    private static final int HORIZONTAL_BITS = 26;
+    private static final int VERTICAL_BITS = 12;
+
+    private static final long HORIZONTAL_MASK = (1L << HORIZONTAL_BITS) - 1;
+    private static final long VERTICAL_MASK = (1L << VERTICAL_BITS) - 1;
+
+    private static final int X_SHIFT = HORIZONTAL_BITS + VERTICAL_BITS;
+    private static final int Z_SHIFT = VERTICAL_BITS;
+
+    private static final long SECTION_HORIZONTAL_MASK = (1L << (HORIZONTAL_BITS - 4)) - 1;
+    private static final long SECTION_VERTICAL_MASK = (1L << (VERTICAL_BITS - 4)) - 1;
+
+    private static final int MIN_HORIZONTAL = -(1 << (HORIZONTAL_BITS - 1));
+    private static final int MAX_HORIZONTAL = (1 << (HORIZONTAL_BITS - 1)) - 1;
+    private static final int MIN_VERTICAL = -(1 << (VERTICAL_BITS - 1));
+    private static final int MAX_VERTICAL = (1 << (VERTICAL_BITS - 1)) - 1;
+
+    private final String world;
+    private final long packed;
+
+    /**
+     * Constructs a new {@link BlockLocation} in the given world from the given
+     * coordinates.
+     *
+     * @param world The name of the world which contains this
+     *     {@link BlockLocation}, or {@code null} if not applicable
+     * @param x The x-coordinate of the new {@link BlockLocation}
+     * @param y The y-coordinate of the new {@link BlockLocation}
+     * @param z The z-coordinate of the new {@link BlockLocation}
+     * @throws IllegalArgumentException If any coordinate is out of range
+     * @since 1.4
+     */
+    public BlockLocation(String world, int x, int y, int z) throws IllegalArgumentException {
+        this(world, pack(x, y, z));
+    }
+
+    /**
+     * Constructs a new {@link BlockLocation} in the given world from the given
+     * packed coordinates.
+     *
+     * @param world The name of the world which contains this
+     *     {@link BlockLocation}, or {@code null} if not applicable
+     * @param packed The packed coordinates of the new {@link BlockLocation}
+     *     (see {@link #pack(int, int, int)})
+     * @since 1.4
+     */
+    public BlockLocation(String world, long packed) {
+        this.world = world != null ? Location3D.internWorld(world) : null;
+        this.packed = packed;
+    }
+
+    /**
+     * Gets the {@link BlockLocation} of the block containing the given
+     * {@link Location3D}.
+     *
+     * @param location The {@link Location3D} to convert
+     * @return The {@link BlockLocation} of the block containing the given
+     *     {@link Location3D}
+     * @throws IllegalArgumentException If the location is out of range
+     * @since 1.4
+     */
+    public static BlockLocation of(Location3D location) throws IllegalArgumentException {
+        return new BlockLocation(location.getWorldName(), pack(location.getX(), location.getY(), location.getZ()));
+    }
+
+    /**
+     * Packs the given block coordinates into a single {@code long}.
+     *
+     * <p>The x-coordinate occupies the 26 most significant bits, followed by
+     * the z-coordinate in the next 26 bits and the y-coordinate in the 12 least
+     * significant bits.</p>
+     *
+     * @param x The x-coordinate to pack
+     * @param y The y-coordinate to pack
+     * @param z The z-coordinate to pack
+     * @return The packed coordinates
+     * @throws IllegalArgumentException If any coordinate is out of range
+     * @since 1.4
+     */
+    public static long pack(int x, int y, int z) throws IllegalArgumentException {
+        checkArgument(x >= MIN_HORIZONTAL && x <= MAX_HORIZONTAL, "X-coordinate out of range");
+        checkArgument(y >= MIN_VERTICAL && y <= MAX_VERTICAL, "Y-coordinate out of range");
+        checkArgument(z >= MIN_HORIZONTAL && z <= MAX_HORIZONTAL, "Z-coordinate out of range");
+        return ((x & HORIZONTAL_MASK) << X_SHIFT) | ((z & HORIZONTAL_MASK) << Z_SHIFT) | (y & VERTICAL_MASK);
+    }
+
+    /**
+     * Packs the coordinates of the block containing the given point into a
+     * single {@code long}.
+     *
+     * @param x The x-coordinate of the point
+     * @param y The y-coordinate of the point
+     * @param z The z-coordinate of the point
+     * @return The packed coordinates
+     * @throws IllegalArgumentException If any coordinate is out of range
+     * @see #pack(int, int, int)
+     * @since 1.4
+     */
+    public static long pack(double x, double y, double z) throws IllegalArgumentException {
+        return pack(toBlock(x), toBlock(y), toBlock(z));
+    }
+
+    /**
+     * Extracts the x-coordinate from the given packed coordinates.
+     *
+     * @param packed The packed coordinates
+     * @return The x-coordinate
+     * @since 1.4
+     */
+    public static int unpackX(long packed) {
+        return (int) (packed >> X_SHIFT);
+    }
+
+    /**
+     * Extracts the y-coordinate from the given packed coordinates.
+     *
+     * @param packed The packed coordinates
+     * @return The y-coordinate
+     * @since 1.4
+     */
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - VERTICAL_BITS) >> (64 - VERTICAL_BITS));
+    }
+
+    /**
+     * Extracts the z-coordinate from the given packed coordinates.
+     *
+     * @param packed The packed coordinates
+     * @return The z-coordinate
+     * @since 1.4
+     */
+    public static int unpackZ(long packed) {
+        return (int) (packed << HORIZONTAL_BITS >> (64 - HORIZONTAL_BITS));
+    }
+
+    /**
+     * Gets the packed coordinates of the 16x16x16 chunk section containing
+     * the block at the given packed coordinates.
+     *
+     * <p>The result uses the same layout as {@link #pack(int, int, int)},
+     * with each coordinate being that of the section rather than of a
+     * block.</p>
+     *
+     * @param packed The packed coordinates of a block
+     * @return The packed coordinates of the section containing it
+     * @since 1.4
+     */
+    public static long getSectionKey(long packed) {
+        return pack(unpackX(packed) >> 4, unpackY(packed) >> 4, unpackZ(packed) >> 4);
+    }
+
+    /**
+     * Sorts the given packed block coordinates in place such that blocks
+     * belonging to the same 16x16x16 chunk section are contiguous, and
+     * sections belonging to the same chunk column are adjacent.
+     *
+     * <p>This permits bulk operations to process each section in a single
+     * sequential pass.</p>
+     *
+     * @param packed The packed block coordinates to sort
+     * @since 1.4
+     */
+    public static void sortBySection(long[] packed) {
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = toSectionMajor(packed[i]);
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = fromSectionMajor(packed[i]);
+        }
+    }
+
+    // rearranges packed coordinates so that the section coordinates occupy the most significant bits
+    private static long toSectionMajor(long packed) {
+        long x = unpackX(packed);
+        long y = unpackY(packed);
+        long z = unpackZ(packed);
+        return ((x >> 4) << 42)
+                | (((z >> 4) & SECTION_HORIZONTAL_MASK) << 20)
+                | (((y >> 4) & SECTION_VERTICAL_MASK) << 12)
+                | ((x & 15) << 8) | ((z & 15) << 4) | (y & 15);
+    }
+
+    private static long fromSectionMajor(long key) {
+        int x = (int) ((key >> 42) << 4 | ((key >> 8) & 15));
+        int z = (int) ((key << 22 >> 42) << 4 | ((key >> 4) & 15));
+        int y = (int) ((key << 44 >> 56) << 4 | (key & 15));
+        return pack(x, y, z);
+    }
+
+    /**
+     * Gets the world containing this {@link BlockLocation}.
+     *
+     * @return The world containing this {@link BlockLocation}, or
+     *     {@link Optional#absent()} if one is not defined
+     * @since 1.4
+     */
+    public Optional<String> getWorld() {
+        return Optional.fromNullable(world);
+    }
+
+    /**
+     * Gets the x-coordinate of this {@link BlockLocation}.
+     *
+     * @return The x-coordinate of this {@link BlockLocation}
+     * @since 1.4
+     */
+    public int getX() {
+        return unpackX(packed);
+    }
+
+    /**
+     * Gets the y-coordinate of this {@link BlockLocation}.
+     *
+     * @return The y-coordinate of this {@link BlockLocation}
+     * @since 1.4
+     */
+    public int getY() {
+        return unpackY(packed);
+    }
+
+    /**
+     * Gets the z-coordinate of this {@link BlockLocation}.
+     *
+     * @return The z-coordinate of this {@link BlockLocation}
+     * @since 1.4
+     */
+    public int getZ() {
+        return unpackZ(packed);
+    }
+
+    /**
+     * Gets the packed coordinates of this {@link BlockLocation} (see
+     * {@link #pack(int, int, int)}).
+     *
+     * @return The packed coordinates of this {@link BlockLocation}
+     * @since 1.4
+     */
+    public long getPackedCoordinates() {
+        return packed;
+    }
+
+    /**
+     * Converts this {@link BlockLocation} to a {@link Location3D} at the
+     * minimum corner of the block.
+     *
+     * @return A {@link Location3D} at the minimum corner of this block
+     * @since 1.4
+     */
+    public Location3D toLocation3D() {
+        return new Location3D(world, getX(), getY(), getZ());
+    }
+
+    private static int toBlock(double coord) {
+        double floored = Math.floor(coord);
+        checkArgument(floored >= Integer.MIN_VALUE && floored <= Integer.MAX_VALUE, "Coordinate out of range");
+        return (int) floored;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof BlockLocation) {
+            BlockLocation l = (BlockLocation) obj;
+            // world names are interned, so an identity check suffices
+            return l.packed == packed && l.world == world;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (world != null ? world.hashCode() : 0) + (int) (packed ^ (packed >>> 32));
+    }
+
+}
@@ -51,6 +51,14 @@ public class Boundary {
     private final Location3D lowerBound;
     private final Location3D upperBound;
 
+    // cached separately to avoid indirection on hot paths
+    private final double lowerX;
+    private final double lowerY;
+    private final double lowerZ;
+    private final double upperX;
+    private final double upperY;
+    private final double upperZ;
+
     /**
      * Constructs a new {@link Boundary} from the given locations. These
      * locations should represent complimentary corners of a cuboid which will
@@ -92,6 +100,13 @@ public class Boundary {
                 Math.max(corner1.getY(), corner2.getY()),
                 Math.max(corner1.getZ(), corner2.getZ())
         );
+
+        this.lowerX = lowerBound.getX();
+        this.lowerY = lowerBound.getY();
+        this.lowerZ = lowerBound.getZ();
+        this.upperX = upperBound.getX();
+        this.upperY = upperBound.getY();
+        this.upperZ = upperBound.getZ();
     }
 
     /**
@@ -150,14 +165,72 @@ public class Boundary {
      * @since 1.0
      */
     public boolean contains(Location3D location) {
-        // IntelliJ wants to simplify this method to a single statement. Yeah, in your dreams.
+        return contains(location.getWorldName(), location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Returns whether this {@link Boundary} contains the given coordinates
+     * within the given world (inclusively).
+     *
+     * <p>This will always return false if both this {@link Boundary} and
+     * {@code world} are defined, but the worlds do not match.</p>
+     *
+     * <p>Unlike {@link #contains(Location3D)}, this method does not require a
+     * {@link Location3D} to be constructed and does not allocate.</p>
+     *
+     * @param world The name of the world containing the coordinates, or
+     *     {@code null} if not applicable
+     * @param x The x-coordinate to check
+     * @param y The y-coordinate to check
+     * @param z The z-coordinate to check
+     * @return Whether this {@link Boundary} contains the given coordinates
+     *     (inclusively)
+     * @since 1.4
+     */
+    public boolean contains(String world, double x, double y, double z) {
+        //noinspection SimplifiableIfStatement
+        if (this.world != null && world != null && this.world != world && !this.world.equals(world)) {
+            return false;
+        }
+        return contains(x, y, z);
+    }
+
+    /**
+     * Returns whether this {@link Boundary} contains the given coordinates
+     * (inclusively), disregarding its world.
+     *
+     * @param x The x-coordinate to check
+     * @param y The y-coordinate to check
+     * @param z The z-coordinate to check
+     * @return Whether this {@link Boundary} contains the given coordinates
+     *     (inclusively)
+     * @since 1.4
+     */
+    public boolean contains(double x, double y, double z) {
+        return     x >= lowerX && x <= upperX
+                && y >= lowerY && y <= upperY
+                && z >= lowerZ && z <= upperZ;
+    }
+
+    /**
+     * Returns whether this {@link Boundary} shares any space with the given
+     * {@link Boundary} (inclusively).
+     *
+     * <p>This will always return false if both boundaries define a world, but
+     * the worlds do not match.</p>
+     *
+     * @param other The {@link Boundary} to check against this {@link Boundary}
+     * @return Whether the two boundaries intersect
+     * @since 1.4
+     */
+    public boolean intersects(Boundary other) {
         //noinspection SimplifiableIfStatement
-        if (world != null && location.getWorld().isPresent() && !world.equals(location.getWorld().get())) {
+        if (world != null && other.world != null && world != other.world && !world.equals(other.world)) {
             return false;
         }
-        return     location.getX() >= getLowerBound().getX() && location.getX() <= getUpperBound().getX()
-                && location.getY() >= getLowerBound().getY() && location.getY() <= getUpperBound().getY()
-                && location.getZ() >= getLowerBound().getZ() && location.getZ() <= getUpperBound().getZ();
+        return     lowerX <= other.upperX && upperX >= other.lowerX
+                && lowerY <= other.upperY && upperY >= other.lowerY
+                && lowerZ <= other.upperZ && upperZ >= other.lowerZ;
     }
 
 }
@@ -0,0 +1,321 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A spatial index mapping {@link Boundary Boundaries} to arbitrary values,
+ * allowing the values whose boundaries contain a given point to be looked up
+ * without scanning every registered boundary.
+ *
+ * <p>Boundaries are bucketed into a uniform grid of square cells along the x-
+ * and z-axes, separately for each world. Boundaries which do not define a
+ * world or which span an excessive number of cells (such as
+ * {@link Boundary#INFINITE}) are stored separately and checked linearly.</p>
+ *
+ * <p>This class is intended for use by implementations in backing
+ * {@link net.caseif.flint.minigame.Minigame#getArenaAt(Location3D)} and is not
+ * thread-safe.</p>
+ *
+ * @param <T> The type of value associated with each {@link Boundary}
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class BoundaryIndex<T> {
+
+    /**
+     * The default length of each grid cell along the x- and z-axes.
+     *
+     * @since 1.4
+     */
+    public static final int DEFAULT_CELL_SIZE = 64;
+
+    private static final int MAX_CELLS_PER_ENTRY = 4096;
+
+    private final double cellSize;
+
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final Map<String, Map<Long, List<Entry<T>>>> grids = new HashMap<>();
+    private final List<Entry<T>> unindexed = new ArrayList<>();
+
+    /**
+     * Constructs a new {@link BoundaryIndex} with the
+     * {@link #DEFAULT_CELL_SIZE default cell size}.
+     *
+     * @since 1.4
+     */
+    public BoundaryIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link BoundaryIndex} with the given cell size.
+     *
+     * @param cellSize The length of each grid cell along the x- and z-axes
+     * @throws IllegalArgumentException If {@code cellSize} is not positive
+     * @since 1.4
+     */
+    public BoundaryIndex(int cellSize) throws IllegalArgumentException {
+        checkArgument(cellSize > 0, "Cell size must be positive");
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Associates the given value with the given {@link Boundary}, replacing
+     * any {@link Boundary} it was previously associated with.
+     *
+     * @param value The value to index
+     * @param boundary The {@link Boundary} to associate with {@code value}
+     * @since 1.4
+     */
+    public void put(T value, Boundary boundary) {
+        checkArgument(value != null, "Value cannot be null");
+        checkArgument(boundary != null, "Boundary cannot be null");
+        remove(value);
+
+        Entry<T> entry = new Entry<>(value, boundary);
+        String world = boundary.getLowerBound().getWorld().orNull();
+        long minCx = cell(boundary.getLowerBound().getX());
+        long minCz = cell(boundary.getLowerBound().getZ());
+        long maxCx = cell(boundary.getUpperBound().getX());
+        long maxCz = cell(boundary.getUpperBound().getZ());
+
+        if (world == null || isOversized(minCx, minCz, maxCx, maxCz)) {
+            unindexed.add(entry);
+        } else {
+            Map<Long, List<Entry<T>>> grid = grids.get(world);
+            if (grid == null) {
+                grid = new HashMap<>();
+                grids.put(world, grid);
+            }
+            for (long cx = minCx; cx <= maxCx; cx++) {
+                for (long cz = minCz; cz <= maxCz; cz++) {
+                    Long key = key(cx, cz);
+                    List<Entry<T>> bucket = grid.get(key);
+                    if (bucket == null) {
+                        bucket = new ArrayList<>(2);
+                        grid.put(key, bucket);
+                    }
+                    bucket.add(entry);
+                }
+            }
+            entry.world = world;
+            entry.minCx = minCx;
+            entry.minCz = minCz;
+            entry.maxCx = maxCx;
+            entry.maxCz = maxCz;
+        }
+        entries.put(value, entry);
+    }
+
+    /**
+     * Removes the given value from this index.
+     *
+     * @param value The value to remove
+     * @return Whether the value was present in this index
+     * @since 1.4
+     */
+    public boolean remove(T value) {
+        Entry<T> entry = entries.remove(value);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.world == null) {
+            unindexed.remove(entry);
+        } else {
+            Map<Long, List<Entry<T>>> grid = grids.get(entry.world);
+            for (long cx = entry.minCx; cx <= entry.maxCx; cx++) {
+                for (long cz = entry.minCz; cz <= entry.maxCz; cz++) {
+                    Long key = key(cx, cz);
+                    List<Entry<T>> bucket = grid.get(key);
+                    bucket.remove(entry);
+                    if (bucket.isEmpty()) {
+                        grid.remove(key);
+                    }
+                }
+            }
+            if (grid.isEmpty()) {
+                grids.remove(entry.world);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all values from this index.
+     *
+     * @since 1.4
+     */
+    public void clear() {
+        entries.clear();
+        grids.clear();
+        unindexed.clear();
+    }
+
+    /**
+     * Gets the number of values contained by this index.
+     *
+     * @return The number of values contained by this index
+     * @since 1.4
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets a value whose {@link Boundary} contains the given location.
+     *
+     * <p>If the boundaries of multiple values contain the location, it is
+     * unspecified which of them is returned.</p>
+     *
+     * @param location The {@link Location3D} to look up
+     * @return A value whose {@link Boundary} contains the given location, or
+     *     {@link Optional#absent()} if none exists
+     * @since 1.4
+     */
+    public Optional<T> getAt(Location3D location) {
+        for (Entry<T> entry : unindexed) {
+            if (entry.boundary.contains(location)) {
+                return Optional.of(entry.value);
+            }
+        }
+        if (location.getWorld().isPresent()) {
+            Map<Long, List<Entry<T>>> grid = grids.get(location.getWorld().get());
+            if (grid != null) {
+                List<Entry<T>> bucket = grid.get(key(cell(location.getX()), cell(location.getZ())));
+                if (bucket != null) {
+                    for (Entry<T> entry : bucket) {
+                        if (entry.boundary.contains(location)) {
+                            return Optional.of(entry.value);
+                        }
+                    }
+                }
+            }
+        } else {
+            // worldless locations may fall within any world's boundaries
+            for (Entry<T> entry : entries.values()) {
+                if (entry.boundary.contains(location)) {
+                    return Optional.of(entry.value);
+                }
+            }
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Gets all values whose {@link Boundary Boundaries} intersect the given
+     * {@link Boundary}.
+     *
+     * @param boundary The {@link Boundary} to check against
+     * @return An {@link ImmutableList} of all values whose
+     *     {@link Boundary Boundaries} intersect the given one
+     * @since 1.4
+     */
+    public ImmutableList<T> getIntersecting(Boundary boundary) {
+        ImmutableList.Builder<T> builder = ImmutableList.builder();
+        String world = boundary.getLowerBound().getWorld().orNull();
+        long minCx = cell(boundary.getLowerBound().getX());
+        long minCz = cell(boundary.getLowerBound().getZ());
+        long maxCx = cell(boundary.getUpperBound().getX());
+        long maxCz = cell(boundary.getUpperBound().getZ());
+
+        if (world == null || isOversized(minCx, minCz, maxCx, maxCz)) {
+            for (Entry<T> entry : entries.values()) {
+                if (entry.boundary.intersects(boundary)) {
+                    builder.add(entry.value);
+                }
+            }
+            return builder.build();
+        }
+
+        for (Entry<T> entry : unindexed) {
+            if (entry.boundary.intersects(boundary)) {
+                builder.add(entry.value);
+            }
+        }
+        Map<Long, List<Entry<T>>> grid = grids.get(world);
+        if (grid != null) {
+            Map<Entry<T>, Boolean> seen = new IdentityHashMap<>();
+            for (long cx = minCx; cx <= maxCx; cx++) {
+                for (long cz = minCz; cz <= maxCz; cz++) {
+                    List<Entry<T>> bucket = grid.get(key(cx, cz));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (Entry<T> entry : bucket) {
+                        if (!seen.containsKey(entry) && entry.boundary.intersects(boundary)) {
+                            seen.put(entry, Boolean.TRUE);
+                            builder.add(entry.value);
+                        }
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private long cell(double coord) {
+        // casting saturates infinite coordinates, which are caught by the cell limit
+        return (long) Math.floor(coord / cellSize);
+    }
+
+    private static boolean isOversized(long minCx, long minCz, long maxCx, long maxCz) {
+        // computed in floating point since saturated cell coordinates would overflow
+        return ((double) maxCx - minCx + 1) * ((double) maxCz - minCz + 1) > MAX_CELLS_PER_ENTRY;
+    }
+
+    private static long key(long cx, long cz) {
+        return (cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private static class Entry<T> {
+
+        private final T value;
+        private final Boundary boundary;
+
+        private String world;
+        private long minCx;
+        private long minCz;
+        private long maxCx;
+        private long maxCz;
+
+        private Entry(T value, Boundary boundary) {
+            this.value = value;
+            this.boundary = boundary;
+        }
+
+    }
+
+}
@@ -24,8 +24,17 @@
 
 package net.caseif.flint.util.physical;
 
-import com.google.common.base.Objects;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Represents a three-dimensional point in space, or optionally, in a world.
@@ -37,11 +46,27 @@ public class Location3D {
 
     private static final char SEPARATOR = ';';
 
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // world names are shared by huge numbers of locations, so we keep a single
+    // canonical instance of each to allow identity comparison in equals
+    private static final Interner<String> WORLD_INTERNER = Interners.newWeakInterner();
+
     private final String world;
     private final double x;
     private final double y;
     private final double z;
 
+    private final int hash;
+
     /**
      * Constructs a new {@link Location3D} in the given world from the given
      * coordinates.
@@ -53,10 +78,11 @@ public class Location3D {
      * @since 1.0
      */
     public Location3D(String world, double x, double y, double z) {
-        this.world = world;
+        this.world = world != null ? internWorld(world) : null;
         this.x = x;
         this.y = y;
         this.z = z;
+        this.hash = computeHash();
     }
 
     /**
@@ -72,6 +98,7 @@ public class Location3D {
         this.x = x;
         this.y = y;
         this.z = z;
+        this.hash = computeHash();
     }
 
     /**
@@ -85,6 +112,27 @@ public class Location3D {
         return Optional.fromNullable(this.world);
     }
 
+    /**
+     * Gets the name of the world containing this {@link Location3D} without
+     * wrapping it in an {@link Optional}.
+     *
+     * @return The name of the world containing this {@link Location3D}, or
+     *     {@code null} if one is not defined
+     */
+    String getWorldName() {
+        return this.world;
+    }
+
+    /**
+     * Gets the canonical instance of the given world name.
+     *
+     * @param world The world name to intern
+     * @return The canonical instance of the world name
+     */
+    static String internWorld(String world) {
+        return WORLD_INTERNER.intern(world);
+    }
+
     /**
      * Gets the x-coordinate of this {@link Location3D}.
      *
@@ -149,34 +197,144 @@ public class Location3D {
      * @since 1.0
      */
     public static Location3D deserialize(String serial) throws IllegalArgumentException {
-        if (serial.startsWith("(") && serial.endsWith(")")) {
-            serial = serial.substring(1, serial.length() - 1);
-            String[] parts = serial.split(Character.toString(SEPARATOR));
-            try {
-                switch (parts.length) {
-                    case 3:
-                        return new Location3D(
-                                fromCommaDecimal(parts[0]),
-                                fromCommaDecimal(parts[1]),
-                                fromCommaDecimal(parts[2])
-                        );
-                    case 4:
-                        if (parts[0].startsWith("\"") && parts[0].endsWith("\"")) {
-                            return new Location3D(
-                                    parts[0].substring(1, parts[0].length() - 1),
-                                    fromCommaDecimal(parts[1]),
-                                    fromCommaDecimal(parts[2]),
-                                    fromCommaDecimal(parts[3])
-                            );
-                        }
-                        break;
-                    default:
-                }
-            } catch (NullPointerException | NumberFormatException ex) {
-                throw new IllegalArgumentException("Invalid serial", ex);
+        return parse(serial);
+    }
+
+    /**
+     * Deserializes each of the given strings into a new {@link Location3D}
+     * object.
+     *
+     * <p>This is equivalent to invoking {@link #deserialize(String)} upon each
+     * string, but accepts any {@link CharSequence} and avoids intermediate
+     * copies of the input.</p>
+     *
+     * @param serials The strings to deserialize
+     * @return An {@link ImmutableList} of the deserialized {@link Location3D}
+     *     objects, in iteration order
+     * @throws IllegalArgumentException If any of the provided strings is not a
+     *     valid serial for this class
+     * @since 1.4
+     */
+    public static ImmutableList<Location3D> deserializeAll(Iterable<? extends CharSequence> serials)
+            throws IllegalArgumentException {
+        ImmutableList.Builder<Location3D> builder = ImmutableList.builder();
+        for (CharSequence serial : serials) {
+            builder.add(parse(serial));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses a serial in the format produced by {@link #serialize()} in a
+     * single pass.
+     *
+     * @param serial The serial to parse
+     * @return The parsed {@link Location3D}
+     * @throws IllegalArgumentException If the serial is invalid
+     */
+    private static Location3D parse(CharSequence serial) throws IllegalArgumentException {
+        int len = serial.length();
+        if (len < 2 || serial.charAt(0) != '(' || serial.charAt(len - 1) != ')') {
+            throw new IllegalArgumentException("Invalid serial");
+        }
+        int end = len - 1;
+        // trailing separators have always been tolerated, as String#split discarded the empty parts they produce
+        while (end > 1 && serial.charAt(end - 1) == SEPARATOR) {
+            end--;
+        }
+
+        int pos = 1;
+        String world = null;
+        if (pos < end && serial.charAt(pos) == '"') {
+            int sep = indexOf(serial, SEPARATOR, pos, end);
+            if (sep == -1 || sep - pos < 2 || serial.charAt(sep - 1) != '"') {
+                throw new IllegalArgumentException("Invalid serial");
             }
+            world = serial.subSequence(pos + 1, sep - 1).toString();
+            pos = sep + 1;
+        }
+
+        int sepX = indexOf(serial, SEPARATOR, pos, end);
+        int sepY = sepX != -1 ? indexOf(serial, SEPARATOR, sepX + 1, end) : -1;
+        if (sepY == -1 || indexOf(serial, SEPARATOR, sepY + 1, end) != -1) {
+            throw new IllegalArgumentException("Invalid serial");
+        }
+
+        try {
+            return new Location3D(
+                    world,
+                    parseCommaDecimal(serial, pos, sepX),
+                    parseCommaDecimal(serial, sepX + 1, sepY),
+                    parseCommaDecimal(serial, sepY + 1, end)
+            );
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid serial", ex);
+        }
+    }
+
+    private static int indexOf(CharSequence seq, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (seq.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes this {@link Location3D} to the given {@link ByteBuffer} in a
+     * compact binary format, starting at the buffer's current position.
+     *
+     * <p>The world name, if present, is written inline. When persisting many
+     * locations, prefer a {@link LocationCodec}, which writes each distinct
+     * world name only once.</p>
+     *
+     * @param buffer The {@link ByteBuffer} to write to
+     * @throws java.nio.BufferOverflowException If the buffer does not have
+     *     sufficient space remaining
+     * @throws IllegalStateException If the world name of this
+     *     {@link Location3D} exceeds {@link Short#MAX_VALUE} bytes when encoded
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        if (world != null) {
+            byte[] worldBytes = world.getBytes(StandardCharsets.UTF_8);
+            checkState(worldBytes.length <= Short.MAX_VALUE, "World name is too long to serialize");
+            buffer.putShort((short) worldBytes.length);
+            buffer.put(worldBytes);
+        } else {
+            buffer.putShort((short) -1);
+        }
+        buffer.putDouble(x);
+        buffer.putDouble(y);
+        buffer.putDouble(z);
+    }
+
+    /**
+     * Reads a {@link Location3D} previously written by
+     * {@link #writeTo(ByteBuffer)} from the given {@link ByteBuffer}, starting
+     * at the buffer's current position.
+     *
+     * @param buffer The {@link ByteBuffer} to read from
+     * @return The read {@link Location3D}
+     * @throws IllegalArgumentException If the buffer does not contain a valid
+     *     binary {@link Location3D} at its current position
+     * @since 1.4
+     */
+    public static Location3D readFrom(ByteBuffer buffer) throws IllegalArgumentException {
+        try {
+            short worldLength = buffer.getShort();
+            checkArgument(worldLength >= -1, "Malformed binary location (negative world length)");
+            String world = null;
+            if (worldLength != -1) {
+                byte[] worldBytes = new byte[worldLength];
+                buffer.get(worldBytes);
+                world = new String(worldBytes, StandardCharsets.UTF_8);
+            }
+            return new Location3D(world, buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated binary location", ex);
         }
-        throw new IllegalArgumentException("Invalid serial");
     }
 
     /**
@@ -193,30 +351,88 @@ public class Location3D {
     }
 
     /**
-     * Parses a comma-notation double from a string.
+     * Parses a comma-notation double from the given region of a
+     * {@link CharSequence}.
+     *
+     * <p>Plain decimals with few enough significant digits to be represented
+     * exactly are parsed directly; anything else (exponents, special values,
+     * or long mantissas) is deferred to {@link Double#parseDouble(String)} to
+     * guarantee correct rounding.</p>
      *
      * <p>(See {@link Location3D#toCommaDecimal(double)})</p>
      *
-     * @param d The comma-notation decimal as a string
+     * @param seq The sequence containing the comma-notation decimal
+     * @param start The index of the first character of the decimal
+     * @param end The index following the last character of the decimal
      * @return The parsed double
      * @throws NumberFormatException If the double cannot be parsed
      */
-    private static double fromCommaDecimal(String d) throws NumberFormatException {
-        return Double.parseDouble(d.replace(",", "."));
+    private static double parseCommaDecimal(CharSequence seq, int start, int end) throws NumberFormatException {
+        int pos = start;
+        boolean negative = pos < end && seq.charAt(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; pos < end; pos++) {
+            char c = seq.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_FAST_DIGITS) {
+                    break;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (fractionDigits != -1) {
+                    fractionDigits++;
+                }
+            } else if (c == ',' && fractionDigits == -1) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+
+        if (pos == end && digits > 0) {
+            // both operands are exactly representable, so the quotient is correctly rounded
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(seq.subSequence(start, end).toString().replace(',', '.'));
     }
 
+    @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (obj instanceof Location3D) {
             Location3D l = ((Location3D) obj);
-            return (l.getWorld().isPresent() ? l.getWorld().get().equals(world) : world == null)
-                    && l.getX() == getX() && l.getY() == getY() && l.getZ() == getZ();
+            // world names are interned, so an identity check suffices
+            return l.hash == hash && l.world == world && l.x == x && l.y == y && l.z == z;
         } else {
             return false;
         }
     }
 
+    @Override
     public int hashCode() {
-        return Objects.hashCode(world, x, y, z);
+        return hash;
+    }
+
+    private int computeHash() {
+        int result = world != null ? world.hashCode() : 0;
+        result = 31 * result + hashCoordinate(x);
+        result = 31 * result + hashCoordinate(y);
+        result = 31 * result + hashCoordinate(z);
+        return result;
+    }
+
+    private static int hashCoordinate(double coord) {
+        // equals compares by value, so 0.0 and -0.0 must hash identically
+        long bits = coord != 0 ? Double.doubleToLongBits(coord) : 0L;
+        return (int) (bits ^ (bits >>> 32));
     }
 
 }
@@ -0,0 +1,220 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A codec for writing large numbers of {@link Location3D}s to and from
+ * {@link ByteBuffer}s in a compact binary format.
+ *
+ * <p>Each distinct world name is assigned a numeric ID the first time it is
+ * encountered, so that each encoded location occupies a fixed
+ * {@link #RECORD_LENGTH} bytes. The resulting world table must be persisted
+ * alongside the encoded locations via {@link #writeWorldTable(ByteBuffer)}
+ * and restored via {@link #readWorldTable(ByteBuffer)} before they may be
+ * decoded.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class LocationCodec {
+
+    /**
+     * The number of bytes occupied by a single encoded {@link Location3D}.
+     *
+     * @since 1.4
+     */
+    public static final int RECORD_LENGTH = 2 + 3 * 8;
+
+    private static final short NO_WORLD = -1;
+
+    private final List<String> worlds = new ArrayList<>();
+    private final Map<String, Short> worldIds = new HashMap<>();
+
+    /**
+     * Constructs a new {@link LocationCodec} with an empty world table.
+     *
+     * @since 1.4
+     */
+    public LocationCodec() {
+    }
+
+    /**
+     * Gets the numeric ID assigned to the given world name, assigning a new
+     * one if necessary.
+     *
+     * @param world The name of the world to look up
+     * @return The numeric ID of the world
+     * @throws IllegalStateException If the world table is full
+     * @since 1.4
+     */
+    public short getWorldId(String world) throws IllegalStateException {
+        Short id = worldIds.get(world);
+        if (id == null) {
+            if (worlds.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("World table is full");
+            }
+            id = (short) worlds.size();
+            worlds.add(world);
+            worldIds.put(world, id);
+        }
+        return id;
+    }
+
+    /**
+     * Gets an {@link ImmutableList} of the world names known to this codec,
+     * indexed by their numeric IDs.
+     *
+     * @return An {@link ImmutableList} of the world names known to this codec
+     * @since 1.4
+     */
+    public ImmutableList<String> getWorlds() {
+        return ImmutableList.copyOf(worlds);
+    }
+
+    /**
+     * Writes the given {@link Location3D} to the given {@link ByteBuffer},
+     * starting at the buffer's current position.
+     *
+     * @param location The {@link Location3D} to write
+     * @param buffer The {@link ByteBuffer} to write to
+     * @throws java.nio.BufferOverflowException If the buffer has fewer than
+     *     {@link #RECORD_LENGTH} bytes remaining
+     * @since 1.4
+     */
+    public void write(Location3D location, ByteBuffer buffer) {
+        String world = location.getWorldName();
+        buffer.putShort(world != null ? getWorldId(world) : NO_WORLD);
+        buffer.putDouble(location.getX());
+        buffer.putDouble(location.getY());
+        buffer.putDouble(location.getZ());
+    }
+
+    /**
+     * Reads a {@link Location3D} from the given {@link ByteBuffer}, starting
+     * at the buffer's current position.
+     *
+     * @param buffer The {@link ByteBuffer} to read from
+     * @return The read {@link Location3D}
+     * @throws IllegalArgumentException If the buffer does not contain a valid
+     *     encoded {@link Location3D} at its current position, or if it
+     *     references a world not present in this codec's world table
+     * @since 1.4
+     */
+    public Location3D read(ByteBuffer buffer) throws IllegalArgumentException {
+        try {
+            short worldId = buffer.getShort();
+            String world = null;
+            if (worldId != NO_WORLD) {
+                checkArgument(worldId >= 0 && worldId < worlds.size(), "Unknown world ID " + worldId);
+                world = worlds.get(worldId);
+            }
+            return new Location3D(world, buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated binary location", ex);
+        }
+    }
+
+    /**
+     * Writes this codec's world table to the given {@link ByteBuffer},
+     * starting at the buffer's current position.
+     *
+     * @param buffer The {@link ByteBuffer} to write to
+     * @throws java.nio.BufferOverflowException If the buffer does not have
+     *     sufficient space remaining
+     * @throws IllegalArgumentException If a world name exceeds {@code 65535}
+     *     bytes when encoded
+     * @since 1.4
+     */
+    public void writeWorldTable(ByteBuffer buffer) throws IllegalArgumentException {
+        buffer.putShort((short) worlds.size());
+        for (String world : worlds) {
+            byte[] bytes = world.getBytes(StandardCharsets.UTF_8);
+            checkArgument(bytes.length <= 0xFFFF, "World name is too long to serialize");
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Gets the number of bytes which will be written by
+     * {@link #writeWorldTable(ByteBuffer)} in this codec's current state.
+     *
+     * @return The length of this codec's encoded world table
+     * @since 1.4
+     */
+    public int getWorldTableLength() {
+        int length = 2;
+        for (String world : worlds) {
+            length += 2 + world.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return length;
+    }
+
+    /**
+     * Constructs a new {@link LocationCodec} from a world table previously
+     * written by {@link #writeWorldTable(ByteBuffer)}.
+     *
+     * @param buffer The {@link ByteBuffer} to read from
+     * @return The new {@link LocationCodec}
+     * @throws IllegalArgumentException If the buffer does not contain a valid
+     *     world table at its current position, including if the table
+     *     contains a duplicate world name or more than {@code 32768} worlds
+     * @since 1.4
+     */
+    public static LocationCodec readWorldTable(ByteBuffer buffer) throws IllegalArgumentException {
+        LocationCodec codec = new LocationCodec();
+        try {
+            int count = buffer.getShort() & 0xFFFF;
+            checkArgument(count <= Short.MAX_VALUE + 1, "Malformed world table (too many worlds)");
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                String world = new String(bytes, StandardCharsets.UTF_8);
+                // a repeated name would shift the IDs of every subsequent world
+                checkArgument(codec.worldIds.put(world, (short) i) == null,
+                        "Malformed world table (duplicate world " + world + ")");
+                codec.worlds.add(world);
+            }
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated world table", ex);
+        }
+        return codec;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} which reads blocks written by a
+ * {@link CodecOutputStream}.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+class CodecInputStream extends InputStream {
+
+    private final DataInputStream in;
+    private final RollbackCodec codec;
+    private final int maxBlockSize;
+
+    private byte[] buffer = new byte[0];
+    private byte[] compressed = new byte[0];
+    private int pos;
+    private int limit;
+
+    private boolean finished;
+
+    CodecInputStream(InputStream in, RollbackCodec codec, int maxBlockSize) {
+        this.in = new DataInputStream(in);
+        this.codec = codec;
+        this.maxBlockSize = maxBlockSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos == limit && !readBlock()) {
+            return -1;
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pos == limit && !readBlock()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - pos);
+        System.arraycopy(buffer, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return limit - pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean readBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+        int length = in.readInt();
+        if (length == 0) {
+            finished = true;
+            return false;
+        }
+        int stored = in.readInt();
+        boolean isCompressed = in.readBoolean();
+        if (length < 0 || length > maxBlockSize || stored < 0 || stored > codec.maxCompressedLength(length)
+                || (!isCompressed && stored != length)) {
+            throw new IOException("Malformed compressed block header");
+        }
+
+        if (buffer.length < length) {
+            buffer = new byte[length];
+        }
+        if (isCompressed) {
+            if (compressed.length < stored) {
+                compressed = new byte[stored];
+            }
+            in.readFully(compressed, 0, stored);
+            codec.decompress(compressed, 0, stored, buffer, 0, length);
+        } else {
+            in.readFully(buffer, 0, length);
+        }
+        pos = 0;
+        limit = length;
+        return true;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link OutputStream} which buffers written data into fixed-size blocks
+ * and compresses each with a {@link RollbackCodec}.
+ *
+ * <p>Each block is written as its uncompressed length, its stored length, a
+ * flag indicating whether it is compressed, and its data. Blocks which would
+ * not shrink are stored uncompressed. The stream is terminated by a block of
+ * length zero.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+class CodecOutputStream extends OutputStream {
+
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    private final DataOutputStream out;
+    private final RollbackCodec codec;
+
+    private final byte[] buffer;
+    private final byte[] compressed;
+    private int count;
+
+    private boolean closed;
+
+    CodecOutputStream(OutputStream out, RollbackCodec codec, int blockSize) {
+        this.out = new DataOutputStream(out);
+        this.codec = codec;
+        this.buffer = new byte[blockSize];
+        this.compressed = new byte[codec.maxCompressedLength(blockSize)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            writeBlock();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                writeBlock();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBlock();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeBlock();
+            out.writeInt(0);
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        int length = codec.compress(buffer, 0, count, compressed, 0);
+        out.writeInt(count);
+        if (length < count) {
+            out.writeInt(length);
+            out.writeBoolean(true);
+            out.write(compressed, 0, length);
+        } else {
+            out.writeInt(count);
+            out.writeBoolean(false);
+            out.write(buffer, 0, count);
+        }
+        count = 0;
+    }
+
+}
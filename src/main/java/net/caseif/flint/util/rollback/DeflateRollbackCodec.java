@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link RollbackCodec} backed by the JDK's {@link Deflater} and
+ * {@link Inflater}.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+final class DeflateRollbackCodec implements RollbackCodec {
+
+    private static final byte ID = 2;
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "Deflate";
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        // mirrors zlib's compressBound
+        return length + (length >>> 12) + (length >>> 14) + (length >>> 25) + 13;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(src, srcOff, srcLen);
+            deflater.finish();
+            int op = dstOff;
+            while (!deflater.finished()) {
+                int written = deflater.deflate(dst, op, dst.length - op);
+                if (written == 0 && op == dst.length) {
+                    throw new IllegalArgumentException("Destination buffer is too small");
+                }
+                op += written;
+            }
+            return op - dstOff;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen)
+            throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(src, srcOff, srcLen);
+            int op = dstOff;
+            int dstEnd = dstOff + dstLen;
+            while (!inflater.finished()) {
+                if (op == dstEnd) {
+                    // the output is full, so anything but the end of the stream is surplus data
+                    if (inflater.inflate(new byte[1]) != 0 || !inflater.finished()) {
+                        throw new IOException("Malformed deflate block (decompressed length mismatch)");
+                    }
+                    break;
+                }
+                int read = inflater.inflate(dst, op, dstEnd - op);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Malformed deflate block (unexpected end of block)");
+                }
+                op += read;
+            }
+            if (op != dstEnd || inflater.getRemaining() != 0) {
+                throw new IOException("Malformed deflate block (decompressed length mismatch)");
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("Malformed deflate block", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
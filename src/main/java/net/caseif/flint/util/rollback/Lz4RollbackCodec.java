@@ -0,0 +1,241 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A pure-Java {@link RollbackCodec} producing data in the LZ4 block format.
+ *
+ * <p>Matches are found greedily using a single-entry hash table, trading
+ * compression ratio for speed.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+final class Lz4RollbackCodec implements RollbackCodec {
+
+    private static final byte ID = 1;
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int RUN_MASK = 0xF;
+
+    private static final int HASH_LOG = 12;
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "LZ4";
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        int srcEnd = srcOff + srcLen;
+        int anchor = srcOff;
+        int op = dstOff;
+
+        if (srcLen > MF_LIMIT) {
+            int[] table = new int[1 << HASH_LOG];
+            Arrays.fill(table, -1);
+
+            int matchStartLimit = srcEnd - MF_LIMIT;
+            int matchEndLimit = srcEnd - LAST_LITERALS;
+            int ip = srcOff;
+            while (ip < matchStartLimit) {
+                int sequence = readInt(src, ip);
+                int hash = (sequence * -1640531535) >>> (32 - HASH_LOG);
+                int ref = table[hash];
+                table[hash] = ip;
+                if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+                    ip++;
+                    continue;
+                }
+
+                while (ip > anchor && ref > srcOff && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLen = MIN_MATCH;
+                while (ip + matchLen < matchEndLimit && src[ip + matchLen] == src[ref + matchLen]) {
+                    matchLen++;
+                }
+
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLen, dst, op);
+                ip += matchLen;
+                anchor = ip;
+            }
+        }
+
+        // the block must always end with a run of literals
+        int literals = srcEnd - anchor;
+        int tokenPos = op++;
+        if (literals >= RUN_MASK) {
+            dst[tokenPos] = (byte) (RUN_MASK << 4);
+            op = writeLength(literals - RUN_MASK, dst, op);
+        } else {
+            dst[tokenPos] = (byte) (literals << 4);
+        }
+        System.arraycopy(src, anchor, dst, op, literals);
+        op += literals;
+
+        return op - dstOff;
+    }
+
+    @Override
+    public void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen)
+            throws IOException {
+        int ip = srcOff;
+        int srcEnd = srcOff + srcLen;
+        int op = dstOff;
+        int dstEnd = dstOff + dstLen;
+
+        while (true) {
+            if (ip >= srcEnd) {
+                throw malformed("unexpected end of block");
+            }
+            int token = src[ip++] & 0xFF;
+
+            int literals = token >>> 4;
+            if (literals == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw malformed("unexpected end of block");
+                    }
+                    b = src[ip++] & 0xFF;
+                    literals += b;
+                } while (b == 0xFF && literals <= dstLen);
+            }
+            if (literals > srcEnd - ip || literals > dstEnd - op) {
+                throw malformed("literal run out of bounds");
+            }
+            System.arraycopy(src, ip, dst, op, literals);
+            ip += literals;
+            op += literals;
+
+            if (ip == srcEnd) {
+                break;
+            }
+
+            if (srcEnd - ip < 2) {
+                throw malformed("unexpected end of block");
+            }
+            int offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+            ip += 2;
+
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw malformed("unexpected end of block");
+                    }
+                    b = src[ip++] & 0xFF;
+                    matchLen += b;
+                } while (b == 0xFF && matchLen <= dstLen);
+            }
+            matchLen += MIN_MATCH;
+
+            int ref = op - offset;
+            if (offset == 0 || ref < dstOff || matchLen > dstEnd - op) {
+                throw malformed("match out of bounds");
+            }
+            if (offset >= matchLen) {
+                System.arraycopy(dst, ref, dst, op, matchLen);
+            } else {
+                // overlapping match, e.g. a run of a repeated byte
+                for (int i = 0; i < matchLen; i++) {
+                    dst[op + i] = dst[ref + i];
+                }
+            }
+            op += matchLen;
+        }
+
+        if (op != dstEnd) {
+            throw malformed("decompressed length mismatch");
+        }
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literals, int offset, int matchLen,
+                                     byte[] dst, int op) {
+        int tokenPos = op++;
+        int token;
+        if (literals >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            op = writeLength(literals - RUN_MASK, dst, op);
+        } else {
+            token = literals << 4;
+        }
+        System.arraycopy(src, literalOff, dst, op, literals);
+        op += literals;
+
+        dst[op++] = (byte) offset;
+        dst[op++] = (byte) (offset >>> 8);
+
+        int extra = matchLen - MIN_MATCH;
+        if (extra >= RUN_MASK) {
+            token |= RUN_MASK;
+            op = writeLength(extra - RUN_MASK, dst, op);
+        } else {
+            token |= extra;
+        }
+        dst[tokenPos] = (byte) token;
+        return op;
+    }
+
+    private static int writeLength(int length, byte[] dst, int op) {
+        while (length >= 0xFF) {
+            dst[op++] = (byte) 0xFF;
+            length -= 0xFF;
+        }
+        dst[op++] = (byte) length;
+        return op;
+    }
+
+    private static int readInt(byte[] buf, int off) {
+        return (buf[off] & 0xFF)
+                | (buf[off + 1] & 0xFF) << 8
+                | (buf[off + 2] & 0xFF) << 16
+                | (buf[off + 3] & 0xFF) << 24;
+    }
+
+    private static IOException malformed(String reason) {
+        return new IOException("Malformed LZ4 block (" + reason + ")");
+    }
+
+}
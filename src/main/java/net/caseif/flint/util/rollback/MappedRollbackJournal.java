@@ -0,0 +1,190 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link RollbackJournal} backed by an append-only, memory-mapped file.
+ *
+ * <p>Records occupy a fixed {@link #RECORD_LENGTH} bytes each and are written
+ * directly into mapped memory, so appending a record is a constant-time
+ * operation requiring no system calls in the common case. The record count
+ * is stored in the file's header and updated with each append, so records
+ * written before a crash of the server process are recovered when the journal
+ * is reopened. {@link #flush()} may be used to additionally guard against
+ * loss of power or of the operating system.</p>
+ *
+ * <p>The file is mapped in fixed-size segments as it grows. Note that mapped
+ * segments are only released by the JVM once they are garbage-collected.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class MappedRollbackJournal implements RollbackJournal {
+
+    /**
+     * The number of bytes occupied by a single record.
+     *
+     * @since 1.4
+     */
+    public static final int RECORD_LENGTH = 16;
+
+    private static final int MAGIC = 0x464C524A; // "FLRJ"
+    private static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 16;
+    private static final int COUNT_OFFSET = 8;
+
+    private static final int RECORDS_PER_SEGMENT = 1 << 16;
+    private static final long SEGMENT_LENGTH = (long) RECORDS_PER_SEGMENT * RECORD_LENGTH;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    private long count;
+    private boolean closed;
+
+    private MappedRollbackJournal(FileChannel channel) throws IOException {
+        this.channel = channel;
+        boolean created = channel.size() == 0;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH);
+        if (created) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(COUNT_OFFSET, 0);
+        } else {
+            checkArgument(header.getInt(0) == MAGIC, "File is not a rollback journal");
+            checkArgument(header.getInt(4) == VERSION, "Unsupported rollback journal version " + header.getInt(4));
+            // guard against a header which was persisted ahead of its records
+            long available = (channel.size() - HEADER_LENGTH) / RECORD_LENGTH;
+            count = Math.min(header.getLong(COUNT_OFFSET), available);
+        }
+    }
+
+    /**
+     * Opens the journal stored in the given file, creating it if it does not
+     * exist.
+     *
+     * @param path The path of the journal file
+     * @return The opened {@link MappedRollbackJournal}
+     * @throws IllegalArgumentException If the file exists but is not a valid
+     *     rollback journal
+     * @throws IOException If an exception occurs while opening the file
+     * @since 1.4
+     */
+    public static MappedRollbackJournal open(Path path) throws IllegalArgumentException, IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedRollbackJournal(channel);
+        } catch (IllegalArgumentException | IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void append(long key, long state) throws IOException {
+        checkState(!closed, "Journal is closed");
+        int segmentIndex = (int) (count / RECORDS_PER_SEGMENT);
+        int offset = (int) (count % RECORDS_PER_SEGMENT) * RECORD_LENGTH;
+        MappedByteBuffer segment = getSegment(segmentIndex);
+        segment.putLong(offset, key);
+        segment.putLong(offset + 8, state);
+        // the count is only advanced once the record itself is in place
+        header.putLong(COUNT_OFFSET, ++count);
+    }
+
+    @Override
+    public long size() {
+        return count;
+    }
+
+    @Override
+    public void replay(Visitor visitor) throws IOException {
+        replay(visitor, 0, count);
+    }
+
+    @Override
+    public void replay(Visitor visitor, long from, long to) throws IndexOutOfBoundsException, IOException {
+        checkState(!closed, "Journal is closed");
+        if (from < 0 || to > count || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ") for size " + count);
+        }
+        for (long i = from; i < to; i++) {
+            MappedByteBuffer segment = getSegment((int) (i / RECORDS_PER_SEGMENT));
+            int offset = (int) (i % RECORDS_PER_SEGMENT) * RECORD_LENGTH;
+            visitor.visit(segment.getLong(offset), segment.getLong(offset + 8));
+        }
+    }
+
+    @Override
+    public void clear() throws IOException {
+        checkState(!closed, "Journal is closed");
+        count = 0;
+        header.putLong(COUNT_OFFSET, 0);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkState(!closed, "Journal is closed");
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        segments.clear();
+        channel.close();
+    }
+
+    private MappedByteBuffer getSegment(int index) throws IOException {
+        while (segments.size() <= index) {
+            long position = HEADER_LENGTH + segments.size() * SEGMENT_LENGTH;
+            // mapping beyond the end of the file extends it
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_LENGTH));
+        }
+        return segments.get(index);
+    }
+
+}
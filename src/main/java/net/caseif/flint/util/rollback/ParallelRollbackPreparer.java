@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import net.caseif.flint.exception.rollback.RollbackException;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Prepares rollback data for many {@link net.caseif.flint.arena.Arena}s in
+ * parallel on a bounded pool of worker threads.
+ *
+ * <p>This is intended to back
+ * {@link net.caseif.flint.minigame.Minigame#rollbackAll()}: each task should
+ * perform the thread-safe portion of an arena's rollback (reading and
+ * decompressing its journal or snapshot and sorting the records by chunk
+ * section) and return the result, which the caller then applies to the world
+ * on the main thread.</p>
+ *
+ * <p>Worker threads are drawn from a single shared pool rather than created
+ * afresh for each call. The pool itself is unbounded, so that concurrent
+ * calls requesting different parallelism do not contend over its size;
+ * instead, each call bounds itself by submitting at most as many workers as
+ * its requested parallelism, each of which runs the call's tasks one after
+ * another. Idle workers are daemon threads and expire after a short
+ * keep-alive, so the pool holds no threads between rollbacks.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public final class ParallelRollbackPreparer {
+
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+            new ThreadFactoryBuilder().setNameFormat("Flint Rollback Worker #%d").setDaemon(true).build());
+
+    private ParallelRollbackPreparer() {
+    }
+
+    /**
+     * Runs the given preparation tasks on at most {@code parallelism} worker
+     * threads and waits for all of them to complete.
+     *
+     * <p>The value of {@code parallelism} is typically that of
+     * {@link net.caseif.flint.config.ConfigNode#ROLLBACK_WORKER_THREADS}.
+     * Concurrent calls share the same pool of workers, but each is bounded by
+     * its own parallelism.</p>
+     *
+     * @param tasks The preparation tasks to run
+     * @param parallelism The maximum number of worker threads to use, or
+     *     {@code 0} to use one per available processor
+     * @param <T> The type of the prepared data
+     * @return An {@link ImmutableList} of the tasks' results, in the same
+     *     order as the tasks
+     * @throws IllegalArgumentException If {@code parallelism} is negative
+     * @throws RollbackException If any task fails or returns {@code null}, or
+     *     the calling thread is interrupted while waiting
+     * @since 1.4
+     */
+    public static <T> ImmutableList<T> prepareAll(List<? extends Callable<T>> tasks, int parallelism)
+            throws IllegalArgumentException, RollbackException {
+        checkArgument(parallelism >= 0, "Parallelism cannot be negative");
+        if (tasks.isEmpty()) {
+            return ImmutableList.of();
+        }
+        int workers = Math.min(tasks.size(), parallelism != 0
+                ? parallelism
+                : Runtime.getRuntime().availableProcessors());
+        Worker<T> worker = new Worker<>(tasks);
+        try {
+            List<Future<Void>> futures = POOL.invokeAll(Collections.nCopies(workers, worker));
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            worker.abort();
+            Thread.currentThread().interrupt();
+            throw new RollbackException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RollbackException) {
+                throw (RollbackException) cause;
+            }
+            throw new RollbackException(cause instanceof Exception ? (Exception) cause : ex);
+        }
+
+        ImmutableList.Builder<T> results = ImmutableList.builder();
+        for (int i = 0; i < tasks.size(); i++) {
+            T result = worker.results.get(i);
+            if (result == null) {
+                throw new RollbackException(
+                        new NullPointerException("Rollback preparation task #" + i + " returned null"));
+            }
+            results.add(result);
+        }
+        return results.build();
+    }
+
+    /**
+     * Runs the tasks of a single call until none remain. The same instance is
+     * submitted once per permitted worker thread.
+     */
+    private static final class Worker<T> implements Callable<Void> {
+
+        private final List<? extends Callable<T>> tasks;
+        private final AtomicReferenceArray<T> results;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Worker(List<? extends Callable<T>> tasks) {
+            this.tasks = tasks;
+            this.results = new AtomicReferenceArray<>(tasks.size());
+        }
+
+        @Override
+        public Void call() throws Exception {
+            int i;
+            while ((i = next.getAndIncrement()) < tasks.size()) {
+                try {
+                    results.set(i, tasks.get(i).call());
+                } catch (Exception ex) {
+                    // the call fails regardless, so spare the other workers the remaining tasks
+                    abort();
+                    throw ex;
+                }
+            }
+            return null;
+        }
+
+        private void abort() {
+            next.set(tasks.size());
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import java.io.IOException;
+
+/**
+ * A block compression codec used for section snapshots (see
+ * {@link SectionSnapshotWriter}). {@link RollbackJournal}s are not
+ * compressed, as their fixed-width records are appended and replayed in
+ * place.
+ *
+ * <p>Implementations must be thread-safe, as rollback data for multiple
+ * arenas may be compressed or decompressed concurrently (see
+ * {@link ParallelRollbackPreparer}). Codecs are identified in stored data by
+ * their {@link #getId() ID} and must be registered with
+ * {@link RollbackCodecs#register(RollbackCodec)} in order to be read
+ * back.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface RollbackCodec {
+
+    /**
+     * Gets the unique ID of this codec, as stored alongside data compressed
+     * with it.
+     *
+     * @return The unique ID of this codec
+     * @since 1.4
+     */
+    byte getId();
+
+    /**
+     * Gets the human-readable name of this codec.
+     *
+     * @return The name of this codec
+     * @since 1.4
+     */
+    String getName();
+
+    /**
+     * Gets the maximum number of bytes which compressing the given number of
+     * bytes may produce.
+     *
+     * @param length The length of the uncompressed data
+     * @return The maximum length of the compressed data
+     * @since 1.4
+     */
+    int maxCompressedLength(int length);
+
+    /**
+     * Compresses the given region of {@code src} into {@code dst}.
+     *
+     * @param src The array containing the data to compress
+     * @param srcOff The offset of the data to compress
+     * @param srcLen The length of the data to compress
+     * @param dst The array to write the compressed data to, which must have
+     *     at least {@link #maxCompressedLength(int)} bytes available from
+     *     {@code dstOff}
+     * @param dstOff The offset at which to write the compressed data
+     * @return The length of the compressed data
+     * @since 1.4
+     */
+    int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff);
+
+    /**
+     * Decompresses the given region of {@code src} into {@code dst}.
+     *
+     * @param src The array containing the compressed data
+     * @param srcOff The offset of the compressed data
+     * @param srcLen The length of the compressed data
+     * @param dst The array to write the decompressed data to
+     * @param dstOff The offset at which to write the decompressed data
+     * @param dstLen The exact length of the decompressed data
+     * @throws IOException If the compressed data is malformed or does not
+     *     decompress to exactly {@code dstLen} bytes
+     * @since 1.4
+     */
+    void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException;
+
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Optional;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the {@link RollbackCodec}s available for reading and writing
+ * rollback data.
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public final class RollbackCodecs {
+
+    /**
+     * A fast codec producing data in the LZ4 block format, favoring
+     * throughput over compression ratio.
+     *
+     * @since 1.4
+     */
+    public static final RollbackCodec LZ4 = new Lz4RollbackCodec();
+
+    /**
+     * A codec backed by the JDK's DEFLATE implementation, favoring
+     * compression ratio over throughput.
+     *
+     * @since 1.4
+     */
+    public static final RollbackCodec DEFLATE = new DeflateRollbackCodec();
+
+    private static final ConcurrentMap<Byte, RollbackCodec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(LZ4);
+        register(DEFLATE);
+    }
+
+    private RollbackCodecs() {
+    }
+
+    /**
+     * Registers the given {@link RollbackCodec}, allowing data compressed with
+     * it to be read.
+     *
+     * @param codec The {@link RollbackCodec} to register
+     * @throws IllegalArgumentException If a different codec with the same ID
+     *     is already registered
+     * @since 1.4
+     */
+    public static void register(RollbackCodec codec) throws IllegalArgumentException {
+        RollbackCodec existing = CODECS.putIfAbsent(codec.getId(), codec);
+        checkArgument(existing == null || existing == codec,
+                "Codec ID " + codec.getId() + " is already registered to "
+                        + (existing != null ? existing.getName() : null));
+    }
+
+    /**
+     * Gets the {@link RollbackCodec} registered with the given ID.
+     *
+     * @param id The ID of the codec
+     * @return The {@link RollbackCodec} registered with the given ID, or
+     *     {@link Optional#absent()} if none is registered
+     * @since 1.4
+     */
+    public static Optional<RollbackCodec> get(byte id) {
+        return Optional.fromNullable(CODECS.get(id));
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * An append-only journal of rollback records for a single
+ * {@link net.caseif.flint.arena.Arena}.
+ *
+ * <p>Each record consists of the packed coordinates of a block (see
+ * {@link net.caseif.flint.util.physical.BlockLocation#pack(int, int, int)})
+ * and an implementation-defined {@code long} describing its original state
+ * (for instance, an index into a palette of block states). Records are
+ * appended as blocks are marked for rollback and replayed in the order they
+ * were appended when the arena is rolled back.</p>
+ *
+ * <p>Implementations of this interface need not be thread-safe.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public interface RollbackJournal extends Closeable {
+
+    /**
+     * Appends a record to this journal.
+     *
+     * @param key The packed coordinates of the block the record pertains to
+     * @param state The implementation-defined original state of the block
+     * @throws IOException If an exception occurs while writing the record
+     * @since 1.4
+     */
+    void append(long key, long state) throws IOException;
+
+    /**
+     * Gets the number of records contained by this journal.
+     *
+     * @return The number of records contained by this journal
+     * @since 1.4
+     */
+    long size();
+
+    /**
+     * Passes each record contained by this journal to the given
+     * {@link Visitor}, in the order in which they were appended.
+     *
+     * @param visitor The {@link Visitor} to pass records to
+     * @throws IOException If an exception occurs while reading the records
+     * @since 1.4
+     */
+    void replay(Visitor visitor) throws IOException;
+
+    /**
+     * Passes the records at indices {@code [from, to)} to the given
+     * {@link Visitor}, in the order in which they were appended.
+     *
+     * <p>This permits a journal to be replayed incrementally (see
+     * {@link net.caseif.flint.arena.Arena#rollbackAsync(int)}).</p>
+     *
+     * @param visitor The {@link Visitor} to pass records to
+     * @param from The index of the first record to replay (inclusive)
+     * @param to The index of the last record to replay (exclusive)
+     * @throws IndexOutOfBoundsException If the range is not contained within
+     *     this journal
+     * @throws IOException If an exception occurs while reading the records
+     * @since 1.4
+     */
+    void replay(Visitor visitor, long from, long to) throws IndexOutOfBoundsException, IOException;
+
+    /**
+     * Discards all records contained by this journal.
+     *
+     * @throws IOException If an exception occurs while clearing the journal
+     * @since 1.4
+     */
+    void clear() throws IOException;
+
+    /**
+     * Ensures that all records appended to this journal have been written to
+     * durable storage.
+     *
+     * @throws IOException If an exception occurs while flushing the journal
+     * @since 1.4
+     */
+    void flush() throws IOException;
+
+    /**
+     * A callback receiving the records of a {@link RollbackJournal} during
+     * replay.
+     *
+     * @since 1.4
+     */
+    interface Visitor {
+
+        /**
+         * Handles a single record.
+         *
+         * @param key The packed coordinates of the block the record pertains
+         *     to
+         * @param state The implementation-defined original state of the block
+         * @since 1.4
+         */
+        void visit(long key, long state);
+
+    }
+
+}
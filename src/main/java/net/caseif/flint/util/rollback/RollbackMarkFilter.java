@@ -0,0 +1,255 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import net.caseif.flint.util.LongHashSet;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which blocks of an {@link net.caseif.flint.arena.Arena} have been
+ * marked for rollback, so that repeat marks of the same block may be rejected
+ * before any state is looked up or snapshotted (rollback records follow
+ * first-write-wins semantics).
+ *
+ * <p>Blocks are identified by their packed coordinates (see
+ * {@link net.caseif.flint.util.physical.BlockLocation#pack(int, int, int)}).
+ * An exact {@link LongHashSet} of marked blocks is fronted by two fast paths:
+ * a small direct-mapped cache of recently marked blocks, which catches the
+ * repeated marks typical of explosions, and a bloom filter, which identifies
+ * most blocks that have never been marked without probing the exact set.
+ * Counters are maintained to expose how often each path is taken.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class RollbackMarkFilter {
+
+    private static final int RECENT_CACHE_SIZE = 1024;
+    private static final int BLOOM_BITS_PER_MARK = 16;
+    private static final int BLOOM_HASHES = 3;
+    private static final int MAX_BLOOM_WORDS = 1 << 24;
+
+    private final LongHashSet marks;
+
+    // zero denotes an empty slot, so the zero key always bypasses this cache
+    private final long[] recent = new long[RECENT_CACHE_SIZE];
+
+    private final long[] bloom;
+    private final int bloomMask;
+
+    private long attempts;
+    private long recentHits;
+    private long bloomMisses;
+    private long falsePositives;
+
+    /**
+     * Constructs a new {@link RollbackMarkFilter} sized for the given number
+     * of marks.
+     *
+     * <p>Exceeding the expected number of marks does not affect correctness,
+     * but degrades the effectiveness of the bloom filter.</p>
+     *
+     * @param expectedMarks The number of blocks expected to be marked
+     * @throws IllegalArgumentException If {@code expectedMarks} is negative
+     * @since 1.4
+     */
+    public RollbackMarkFilter(int expectedMarks) throws IllegalArgumentException {
+        checkArgument(expectedMarks >= 0, "Expected mark count cannot be negative");
+        this.marks = new LongHashSet(expectedMarks);
+        int needed = (int) Math.max(1, Math.min(((long) expectedMarks * BLOOM_BITS_PER_MARK + 63) >>> 6,
+                MAX_BLOOM_WORDS));
+        int words = Integer.highestOneBit(needed);
+        if (words < needed) {
+            words <<= 1;
+        }
+        this.bloom = new long[words];
+        this.bloomMask = (words << 6) - 1;
+    }
+
+    /**
+     * Marks the given block, if it has not already been marked.
+     *
+     * @param key The packed coordinates of the block to mark
+     * @return {@code true} if this is the first time the block has been
+     *     marked, in which case its state should be recorded; {@code false}
+     *     if the mark should be discarded
+     * @since 1.4
+     */
+    public boolean mark(long key) {
+        attempts++;
+
+        long h = LongHashSet.mix(key);
+        int recentSlot = (int) h & (RECENT_CACHE_SIZE - 1);
+        if (key != 0 && recent[recentSlot] == key) {
+            recentHits++;
+            return false;
+        }
+
+        if (!bloomContains(h)) {
+            bloomMisses++;
+            bloomAdd(h);
+            marks.add(key);
+            recent[recentSlot] = key;
+            return true;
+        }
+
+        if (marks.add(key)) {
+            falsePositives++;
+            recent[recentSlot] = key;
+            return true;
+        }
+        recent[recentSlot] = key;
+        return false;
+    }
+
+    /**
+     * Returns whether the given block has been marked.
+     *
+     * @param key The packed coordinates of the block to check
+     * @return Whether the given block has been marked
+     * @since 1.4
+     */
+    public boolean isMarked(long key) {
+        return bloomContains(LongHashSet.mix(key)) && marks.contains(key);
+    }
+
+    /**
+     * Gets the number of distinct blocks which have been marked.
+     *
+     * @return The number of distinct blocks which have been marked
+     * @since 1.4
+     */
+    public int size() {
+        return marks.size();
+    }
+
+    /**
+     * Unmarks all blocks and resets this filter's counters.
+     *
+     * @since 1.4
+     */
+    public void clear() {
+        marks.clear();
+        Arrays.fill(recent, 0L);
+        Arrays.fill(bloom, 0L);
+        attempts = 0;
+        recentHits = 0;
+        bloomMisses = 0;
+        falsePositives = 0;
+    }
+
+    /**
+     * Gets the total number of calls to {@link #mark(long)}.
+     *
+     * @return The total number of calls to {@link #mark(long)}
+     * @since 1.4
+     */
+    public long getAttemptCount() {
+        return attempts;
+    }
+
+    /**
+     * Gets the number of marks which were rejected as duplicates.
+     *
+     * @return The number of marks which were rejected as duplicates
+     * @since 1.4
+     */
+    public long getDuplicateCount() {
+        return attempts - marks.size();
+    }
+
+    /**
+     * Gets the number of duplicate marks which were rejected by the
+     * recently-marked cache without consulting the exact set.
+     *
+     * @return The number of duplicate marks rejected by the recently-marked
+     *     cache
+     * @since 1.4
+     */
+    public long getRecentHitCount() {
+        return recentHits;
+    }
+
+    /**
+     * Gets the number of new marks which were identified by the bloom filter
+     * without probing the exact set.
+     *
+     * @return The number of new marks identified by the bloom filter
+     * @since 1.4
+     */
+    public long getBloomMissCount() {
+        return bloomMisses;
+    }
+
+    /**
+     * Gets the number of new marks which the bloom filter falsely reported
+     * as possibly present.
+     *
+     * @return The number of bloom filter false positives
+     * @since 1.4
+     */
+    public long getFalsePositiveCount() {
+        return falsePositives;
+    }
+
+    /**
+     * Gets the fraction of calls to {@link #mark(long)} which were resolved
+     * by a fast path, in the range {@code [0, 1]}.
+     *
+     * @return The fraction of marks resolved without consulting the exact set
+     * @since 1.4
+     */
+    public double getFastPathRate() {
+        return attempts != 0 ? (double) (recentHits + bloomMisses) / attempts : 0;
+    }
+
+    private boolean bloomContains(long h) {
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = bloomBit(h, i);
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void bloomAdd(long h) {
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = bloomBit(h, i);
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private int bloomBit(long h, int i) {
+        // double hashing (Kirsch-Mitzenmacher) over the two halves of the mixed key
+        return ((int) h + i * (int) (h >>> 32)) & bloomMask;
+    }
+
+}
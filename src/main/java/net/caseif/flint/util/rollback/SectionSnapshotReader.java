@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static net.caseif.flint.util.rollback.SectionSnapshotWriter.SECTION_VOLUME;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads a snapshot previously written by a {@link SectionSnapshotWriter},
+ * one section at a time.
+ *
+ * <p>The {@link RollbackCodec} used to compress the snapshot is determined
+ * from its header and must be registered with {@link RollbackCodecs}.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class SectionSnapshotReader implements Closeable {
+
+    private final DataInputStream in;
+
+    private final long[] palette = new long[SECTION_VOLUME];
+
+    private long sectionKey;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Constructs a new {@link SectionSnapshotReader} reading from the given
+     * {@link InputStream}.
+     *
+     * @param in The {@link InputStream} to read the snapshot from
+     * @throws IllegalArgumentException If the stream does not contain a
+     *     section snapshot, or if the snapshot was compressed with an
+     *     unregistered {@link RollbackCodec}
+     * @throws IOException If an exception occurs while reading the snapshot
+     *     header
+     * @since 1.4
+     */
+    public SectionSnapshotReader(InputStream in) throws IllegalArgumentException, IOException {
+        DataInputStream header = new DataInputStream(in);
+        checkArgument(header.readInt() == SectionSnapshotWriter.MAGIC, "Stream is not a section snapshot");
+        int version = header.readInt();
+        checkArgument(version == SectionSnapshotWriter.VERSION, "Unsupported section snapshot version " + version);
+
+        byte codecId = header.readByte();
+        RollbackCodec codec = RollbackCodecs.get(codecId).orNull();
+        checkArgument(codec != null, "Unknown rollback codec ID " + codecId);
+
+        this.in = new DataInputStream(new BufferedInputStream(
+                new CodecInputStream(in, codec, CodecOutputStream.MAX_BLOCK_SIZE)));
+    }
+
+    /**
+     * Reads the next section of the snapshot into the given array.
+     *
+     * <p>States are indexed in the same manner as by
+     * {@link SectionSnapshotWriter#writeSection(long, long[])}. The key of the
+     * section which was read may subsequently be retrieved via
+     * {@link #getSectionKey()}.</p>
+     *
+     * @param states The array to read the section's states into
+     * @return {@code true} if a section was read; {@code false} if the end of
+     *     the snapshot has been reached
+     * @throws IllegalArgumentException If {@code states} does not contain
+     *     exactly {@link SectionSnapshotWriter#SECTION_VOLUME} elements
+     * @throws IOException If an exception occurs while reading the section,
+     *     or if the snapshot is malformed
+     * @since 1.4
+     */
+    public boolean readSection(long[] states) throws IllegalArgumentException, IOException {
+        checkState(!closed, "Reader is closed");
+        checkArgument(states.length == SECTION_VOLUME, "Section must contain exactly " + SECTION_VOLUME + " states");
+        if (finished) {
+            return false;
+        }
+        if (!in.readBoolean()) {
+            finished = true;
+            return false;
+        }
+
+        sectionKey = in.readLong();
+        int paletteSize = in.readUnsignedShort() + 1;
+        if (paletteSize > SECTION_VOLUME) {
+            throw new IOException("Malformed section snapshot (palette too large)");
+        }
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = in.readLong();
+        }
+        if (paletteSize == 1) {
+            Arrays.fill(states, palette[0]);
+            return true;
+        }
+        boolean wide = paletteSize > 256;
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            int index = wide ? in.readUnsignedShort() : in.readUnsignedByte();
+            if (index >= paletteSize) {
+                throw new IOException("Malformed section snapshot (palette index out of bounds)");
+            }
+            states[i] = palette[index];
+        }
+        return true;
+    }
+
+    /**
+     * Gets the packed coordinates of the section most recently read by
+     * {@link #readSection(long[])}.
+     *
+     * @return The packed coordinates of the most recently read section
+     * @since 1.4
+     */
+    public long getSectionKey() {
+        return sectionKey;
+    }
+
+    /**
+     * Closes the underlying {@link InputStream}.
+     *
+     * @throws IOException If an exception occurs while closing the stream
+     * @since 1.4
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        in.close();
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writes a compressed snapshot of a region of the world, one 16x16x16 chunk
+ * section at a time, for use with the
+ * {@link net.caseif.flint.arena.RollbackStrategy#SECTION_SNAPSHOT} rollback
+ * strategy.
+ *
+ * <p>Block states are represented by implementation-defined {@code long}s.
+ * Each section is stored as a palette of its distinct states followed by an
+ * index into the palette for each block, so that sections consisting mostly
+ * of a few states (such as air or stone) compress well. Snapshots may be read
+ * back with a {@link SectionSnapshotReader}.</p>
+ *
+ * <p>The snapshot is compressed in blocks by a {@link RollbackCodec}, which
+ * defaults to {@link RollbackCodecs#LZ4}. The codec is recorded in the
+ * snapshot header, so readers need not be told which was used.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class SectionSnapshotWriter implements Closeable {
+
+    /**
+     * The number of blocks contained by a single chunk section.
+     *
+     * @since 1.4
+     */
+    public static final int SECTION_VOLUME = 16 * 16 * 16;
+
+    static final int MAGIC = 0x464C5353; // "FLSS"
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+
+    private final long[] sorted = new long[SECTION_VOLUME];
+    private final long[] palette = new long[SECTION_VOLUME];
+
+    private boolean closed;
+
+    /**
+     * Constructs a new {@link SectionSnapshotWriter} writing to the given
+     * {@link OutputStream} and compressing with {@link RollbackCodecs#LZ4}.
+     *
+     * @param out The {@link OutputStream} to write the snapshot to
+     * @throws IOException If an exception occurs while writing the snapshot
+     *     header
+     * @since 1.4
+     */
+    public SectionSnapshotWriter(OutputStream out) throws IOException {
+        this(out, RollbackCodecs.LZ4);
+    }
+
+    /**
+     * Constructs a new {@link SectionSnapshotWriter} writing to the given
+     * {@link OutputStream} and compressing with the given
+     * {@link RollbackCodec}.
+     *
+     * @param out The {@link OutputStream} to write the snapshot to
+     * @param codec The {@link RollbackCodec} to compress the snapshot with
+     * @throws IllegalArgumentException If {@code codec} is not registered
+     *     with {@link RollbackCodecs}
+     * @throws IOException If an exception occurs while writing the snapshot
+     *     header
+     * @since 1.4
+     */
+    public SectionSnapshotWriter(OutputStream out, RollbackCodec codec) throws IllegalArgumentException, IOException {
+        checkArgument(RollbackCodecs.get(codec.getId()).orNull() == codec,
+                "Codec " + codec.getName() + " is not registered");
+
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeByte(codec.getId());
+        header.flush();
+
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new CodecOutputStream(out, codec, CodecOutputStream.DEFAULT_BLOCK_SIZE)));
+    }
+
+    /**
+     * Writes a single section to the snapshot.
+     *
+     * <p>States are indexed by the local coordinates of their respective
+     * blocks within the section as {@code (y << 8) | (z << 4) | x}.</p>
+     *
+     * @param sectionKey The packed coordinates of the section (see
+     *     {@link net.caseif.flint.util.physical.BlockLocation#getSectionKey(long)})
+     * @param states The states of the blocks within the section
+     * @throws IllegalArgumentException If {@code states} does not contain
+     *     exactly {@link #SECTION_VOLUME} elements
+     * @throws IOException If an exception occurs while writing the section
+     * @since 1.4
+     */
+    public void writeSection(long sectionKey, long[] states) throws IllegalArgumentException, IOException {
+        checkState(!closed, "Writer is closed");
+        checkArgument(states.length == SECTION_VOLUME, "Section must contain exactly " + SECTION_VOLUME + " states");
+
+        // build the palette by sorting rather than hashing to avoid boxing each state
+        System.arraycopy(states, 0, sorted, 0, SECTION_VOLUME);
+        Arrays.sort(sorted);
+        int paletteSize = 0;
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                palette[paletteSize++] = sorted[i];
+            }
+        }
+
+        out.writeBoolean(true);
+        out.writeLong(sectionKey);
+        out.writeShort(paletteSize - 1);
+        for (int i = 0; i < paletteSize; i++) {
+            out.writeLong(palette[i]);
+        }
+        if (paletteSize == 1) {
+            return;
+        }
+        boolean wide = paletteSize > 256;
+        for (long state : states) {
+            int index = Arrays.binarySearch(palette, 0, paletteSize, state);
+            if (wide) {
+                out.writeShort(index);
+            } else {
+                out.writeByte(index);
+            }
+        }
+    }
+
+    /**
+     * Finishes the snapshot and closes the underlying {@link OutputStream}.
+     *
+     * @throws IOException If an exception occurs while finishing the snapshot
+     * @since 1.4
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.writeBoolean(false);
+        } finally {
+            out.close();
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A queue of tasks which is drained a bounded number of tasks at a time,
+ * spreading bursts of work across subsequent server ticks.
+ *
+ * <p>This is intended for lifecycle stage transitions which become due
+ * simultaneously after the server has fallen behind (see
+ * {@link net.caseif.flint.round.TimerMode#MONOTONIC}), such that they do not
+ * all fire within a single tick.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class CatchUpQueue {
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private int maxPerDrain;
+
+    /**
+     * Constructs a new {@link CatchUpQueue} which runs at most the given
+     * number of tasks per {@link #drain()}.
+     *
+     * @param maxPerDrain The maximum number of tasks to run per drain, or
+     *     {@code 0} or less for no limit
+     * @since 1.4
+     */
+    public CatchUpQueue(int maxPerDrain) {
+        this.maxPerDrain = maxPerDrain;
+    }
+
+    /**
+     * Gets the maximum number of tasks run per {@link #drain()}.
+     *
+     * @return The maximum number of tasks run per drain, or {@code 0} or less
+     *     if unlimited
+     * @since 1.4
+     */
+    public int getMaxPerDrain() {
+        return maxPerDrain;
+    }
+
+    /**
+     * Sets the maximum number of tasks run per {@link #drain()}.
+     *
+     * @param maxPerDrain The maximum number of tasks to run per drain, or
+     *     {@code 0} or less for no limit
+     * @since 1.4
+     */
+    public void setMaxPerDrain(int maxPerDrain) {
+        this.maxPerDrain = maxPerDrain;
+    }
+
+    /**
+     * Gets the number of tasks awaiting execution.
+     *
+     * @return The number of tasks awaiting execution
+     * @since 1.4
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Appends the given task to this queue.
+     *
+     * @param task The task to append
+     * @since 1.4
+     */
+    public void submit(Runnable task) {
+        tasks.add(task);
+    }
+
+    /**
+     * Runs queued tasks in the order in which they were submitted, up to the
+     * configured maximum.
+     *
+     * <p>Tasks submitted by tasks run during this invocation are deferred to
+     * the next.</p>
+     *
+     * @return The number of tasks which were run
+     * @since 1.4
+     */
+    public int drain() {
+        int limit = tasks.size();
+        if (maxPerDrain > 0) {
+            limit = Math.min(limit, maxPerDrain);
+        }
+        for (int i = 0; i < limit; i++) {
+            tasks.poll().run();
+        }
+        return limit;
+    }
+
+    /**
+     * Discards all queued tasks.
+     *
+     * @since 1.4
+     */
+    public void clear() {
+        tasks.clear();
+    }
+
+}
@@ -0,0 +1,279 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue of values ordered by {@code long} deadlines, supporting
+ * removal of arbitrary entries.
+ *
+ * <p>This is backed by a binary min-heap in which every
+ * {@link Entry} tracks its own position, so {@link #add(long, Object)},
+ * {@link #poll()} and {@link #remove(Entry)} are all logarithmic, and
+ * {@link #peekDeadline()} is constant-time. Entries with equal deadlines are
+ * polled in the order in which they were added.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <T> The type of value contained by the queue
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class DeadlineQueue<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Entry<T>[] heap = new Entry[DEFAULT_CAPACITY];
+    private int size;
+    private long sequence;
+
+    /**
+     * Gets the number of entries in this queue.
+     *
+     * @return The number of entries in this queue
+     * @since 1.4
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this queue is empty.
+     *
+     * @return Whether this queue is empty
+     * @since 1.4
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the given value to this queue with the given deadline.
+     *
+     * @param deadline The deadline of the value
+     * @param value The value to add
+     * @return The {@link Entry} of the value, which may be used to
+     *     {@link #remove(Entry) remove} it
+     * @since 1.4
+     */
+    public Entry<T> add(long deadline, T value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        Entry<T> entry = new Entry<>(this, deadline, sequence++, value);
+        entry.index = size++;
+        siftUp(entry);
+        return entry;
+    }
+
+    /**
+     * Gets the earliest deadline in this queue.
+     *
+     * @return The earliest deadline in this queue, or {@link Long#MAX_VALUE}
+     *     if it is empty
+     * @since 1.4
+     */
+    public long peekDeadline() {
+        return size == 0 ? Long.MAX_VALUE : heap[0].deadline;
+    }
+
+    /**
+     * Gets the {@link Entry} with the earliest deadline without removing it.
+     *
+     * @return The {@link Entry} with the earliest deadline, or {@code null} if
+     *     this queue is empty
+     * @since 1.4
+     */
+    public Entry<T> peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Removes and returns the {@link Entry} with the earliest deadline.
+     *
+     * @return The {@link Entry} with the earliest deadline
+     * @throws NoSuchElementException If this queue is empty
+     * @since 1.4
+     */
+    public Entry<T> poll() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        Entry<T> head = heap[0];
+        removeAt(0);
+        return head;
+    }
+
+    /**
+     * Removes the given {@link Entry} from this queue.
+     *
+     * @param entry The {@link Entry} to remove
+     * @return {@code true} if the entry was removed; {@code false} if it had
+     *     already been removed
+     * @throws IllegalArgumentException If the entry belongs to a different
+     *     queue
+     * @since 1.4
+     */
+    public boolean remove(Entry<T> entry) throws IllegalArgumentException {
+        checkArgument(entry.queue == this, "Entry does not belong to this queue");
+        if (entry.index < 0) {
+            return false;
+        }
+        removeAt(entry.index);
+        return true;
+    }
+
+    /**
+     * Removes all entries from this queue.
+     *
+     * @since 1.4
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].index = -1;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int index) {
+        Entry<T> removed = heap[index];
+        removed.index = -1;
+        Entry<T> last = heap[--size];
+        heap[size] = null;
+        if (index == size) {
+            return;
+        }
+        last.index = index;
+        heap[index] = last;
+        siftDown(last);
+        if (last.index == index) {
+            siftUp(last);
+        }
+    }
+
+    private void siftUp(Entry<T> entry) {
+        int index = entry.index;
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            Entry<T> parent = heap[parentIndex];
+            if (!entry.precedes(parent)) {
+                break;
+            }
+            parent.index = index;
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        entry.index = index;
+        heap[index] = entry;
+    }
+
+    private void siftDown(Entry<T> entry) {
+        int index = entry.index;
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            Entry<T> child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if (rightIndex < size && heap[rightIndex].precedes(child)) {
+                childIndex = rightIndex;
+                child = heap[rightIndex];
+            }
+            if (!child.precedes(entry)) {
+                break;
+            }
+            child.index = index;
+            heap[index] = child;
+            index = childIndex;
+        }
+        entry.index = index;
+        heap[index] = entry;
+    }
+
+    /**
+     * A value contained by a {@link DeadlineQueue}.
+     *
+     * @param <T> The type of the value
+     * @author Max Roncace
+     * @since 1.4
+     */
+    public static final class Entry<T> {
+
+        private final DeadlineQueue<T> queue;
+        private final long deadline;
+        private final long sequence;
+        private final T value;
+
+        private int index;
+
+        private Entry(DeadlineQueue<T> queue, long deadline, long sequence, T value) {
+            this.queue = queue;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.value = value;
+        }
+
+        /**
+         * Gets the deadline of this entry.
+         *
+         * @return The deadline of this entry
+         * @since 1.4
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Gets the value of this entry.
+         *
+         * @return The value of this entry
+         * @since 1.4
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Returns whether this entry is still contained by its queue.
+         *
+         * @return Whether this entry is still contained by its queue
+         * @since 1.4
+         */
+        public boolean isQueued() {
+            return index >= 0;
+        }
+
+        private boolean precedes(Entry<T> other) {
+            return deadline < other.deadline || (deadline == other.deadline && sequence < other.sequence);
+        }
+
+    }
+
+}
@@ -0,0 +1,374 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A hierarchical timing wheel which schedules tasks a whole number of ticks
+ * in the future.
+ *
+ * <p>A single wheel may be shared by every {@link net.caseif.flint.round.Round
+ * Round} of a server to schedule {@link net.caseif.flint.round.LifecycleStage
+ * lifecycle stage} transitions and other timer-based callbacks, such that
+ * each tick costs time proportional to the number of tasks which expire
+ * rather than the number of rounds. Scheduling and cancelling a task are
+ * constant-time operations.</p>
+ *
+ * <p>Tasks scheduled further in the future than the wheel spans are
+ * repeatedly deferred to its highest level until they come within range.</p>
+ *
+ * <p>This class is not thread-safe; it is intended to be advanced from the
+ * server's main thread.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class HierarchicalTimingWheel {
+
+    private static final int DEFAULT_WHEEL_BITS = 6;
+    private static final int DEFAULT_LEVELS = 4;
+
+    private final int wheelBits;
+    private final int wheelMask;
+    private final long span;
+
+    // each slot is the sentinel of a circular doubly-linked list of timeouts
+    private final Timeout[][] wheels;
+
+    // the sentinel of the timeouts taken for the tick being advanced to, if any, so that clear() may reach them
+    private Timeout expiring;
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructs a new {@link HierarchicalTimingWheel} with four levels of 64
+     * slots each, spanning approximately 9.7 days at 20 ticks per second.
+     *
+     * @since 1.4
+     */
+    public HierarchicalTimingWheel() {
+        this(DEFAULT_WHEEL_BITS, DEFAULT_LEVELS);
+    }
+
+    /**
+     * Constructs a new {@link HierarchicalTimingWheel} with the given number of
+     * levels, each containing {@code 2^wheelBits} slots.
+     *
+     * @param wheelBits The base-2 logarithm of the number of slots per level
+     * @param levels The number of levels
+     * @throws IllegalArgumentException If either parameter is less than
+     *     {@code 1}, or if the wheel would span more than {@code 2^62} ticks
+     * @since 1.4
+     */
+    public HierarchicalTimingWheel(int wheelBits, int levels) throws IllegalArgumentException {
+        checkArgument(wheelBits >= 1 && levels >= 1, "Wheel bits and levels must be positive");
+        checkArgument((long) wheelBits * levels <= 62, "Timing wheel span is too large");
+
+        this.wheelBits = wheelBits;
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.span = 1L << (wheelBits * levels);
+        this.wheels = new Timeout[levels][1 << wheelBits];
+        for (Timeout[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Timeout(null, 0);
+            }
+        }
+    }
+
+    /**
+     * Gets the tick this {@link HierarchicalTimingWheel} has most recently
+     * advanced to.
+     *
+     * @return The current tick of this wheel
+     * @since 1.4
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the number of tasks which are currently scheduled.
+     *
+     * @return The number of tasks which are currently scheduled
+     * @since 1.4
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the given task to run once the given number of ticks have
+     * elapsed.
+     *
+     * <p>A delay of {@code 0} will cause the task to run upon the next call to
+     * {@link #advance()}.</p>
+     *
+     * @param delay The number of ticks to wait before running the task
+     * @param task The task to run
+     * @return A {@link Timeout} which may be used to cancel the task
+     * @throws IllegalArgumentException If {@code delay} is negative
+     * @since 1.4
+     */
+    public Timeout schedule(long delay, Runnable task) throws IllegalArgumentException {
+        checkArgument(delay >= 0, "Delay cannot be negative");
+        checkArgument(task != null, "Task cannot be null");
+        long deadline = delay >= Long.MAX_VALUE - currentTick ? Long.MAX_VALUE : currentTick + Math.max(delay, 1);
+        Timeout timeout = new Timeout(task, deadline);
+        timeout.wheel = this;
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances this {@link HierarchicalTimingWheel} by a single tick, running
+     * all tasks which expire upon it.
+     *
+     * <p>If a task throws an exception, the remaining expired tasks are still
+     * run, after which the first exception is rethrown.</p>
+     *
+     * @return The number of tasks which were run
+     * @since 1.4
+     */
+    public int advance() {
+        currentTick++;
+
+        // cascade from the highest level down so that timeouts land in slots which have yet to be visited
+        int boundaryLevels = 0;
+        for (int level = 1; level < wheels.length; level++) {
+            if ((currentTick & ((1L << (wheelBits * level)) - 1)) != 0) {
+                break;
+            }
+            boundaryLevels = level;
+        }
+        for (int level = boundaryLevels; level >= 1; level--) {
+            Timeout pending = detach(wheels[level][slotIndex(currentTick, level)]);
+            while (pending.next != pending) {
+                Timeout timeout = pending.next;
+                timeout.unlink();
+                insert(timeout);
+            }
+        }
+
+        // tasks may cancel other timeouts expiring upon the same tick, so these remain linked until run
+        Timeout pending = detach(wheels[0][slotIndex(currentTick, 0)]);
+        int run = 0;
+        RuntimeException failure = null;
+        expiring = pending;
+        try {
+            while (pending.next != pending) {
+                Timeout timeout = pending.next;
+                timeout.unlink();
+                if (timeout.deadline > currentTick) {
+                    insert(timeout);
+                    continue;
+                }
+                timeout.expired = true;
+                timeout.wheel = null;
+                size--;
+                run++;
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException ex) {
+                    if (failure == null) {
+                        failure = ex;
+                    }
+                }
+            }
+        } finally {
+            expiring = null;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return run;
+    }
+
+    /**
+     * Advances this {@link HierarchicalTimingWheel} by the given number of
+     * ticks, running all tasks which expire along the way in order of their
+     * deadlines.
+     *
+     * @param ticks The number of ticks to advance by
+     * @return The number of tasks which were run
+     * @throws IllegalArgumentException If {@code ticks} is negative
+     * @since 1.4
+     */
+    public int advance(long ticks) throws IllegalArgumentException {
+        checkArgument(ticks >= 0, "Ticks cannot be negative");
+        int run = 0;
+        for (long i = 0; i < ticks; i++) {
+            run += advance();
+        }
+        return run;
+    }
+
+    /**
+     * Cancels all scheduled tasks.
+     *
+     * <p>If invoked by a task during {@link #advance()}, this also cancels the
+     * tasks expiring upon the current tick which have yet to run.</p>
+     *
+     * @since 1.4
+     */
+    public void clear() {
+        for (Timeout[] wheel : wheels) {
+            for (Timeout sentinel : wheel) {
+                cancelAll(sentinel);
+            }
+        }
+        if (expiring != null) {
+            cancelAll(expiring);
+        }
+        size = 0;
+    }
+
+    private static void cancelAll(Timeout sentinel) {
+        while (sentinel.next != sentinel) {
+            Timeout timeout = sentinel.next;
+            timeout.unlink();
+            timeout.cancelled = true;
+            timeout.wheel = null;
+        }
+    }
+
+    private int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (wheelBits * level)) & wheelMask);
+    }
+
+    private void insert(Timeout timeout) {
+        // timeouts beyond the wheel's span are parked at its furthest slot and re-cascaded until in range
+        long deadline = Math.min(timeout.deadline, currentTick + span - 1);
+        long delta = deadline - currentTick;
+        int level = 0;
+        while (level < wheels.length - 1 && delta >= 1L << (wheelBits * (level + 1))) {
+            level++;
+        }
+        Timeout sentinel = wheels[level][slotIndex(deadline, level)];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    // moves every timeout in the given slot to a new list, returning its sentinel
+    private static Timeout detach(Timeout sentinel) {
+        Timeout detached = new Timeout(null, 0);
+        if (sentinel.next != sentinel) {
+            detached.next = sentinel.next;
+            detached.prev = sentinel.prev;
+            detached.next.prev = detached;
+            detached.prev.next = detached;
+            sentinel.next = sentinel;
+            sentinel.prev = sentinel;
+        }
+        return detached;
+    }
+
+    /**
+     * A handle to a task scheduled on a {@link HierarchicalTimingWheel}.
+     *
+     * @author Max Roncace
+     * @since 1.4
+     */
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+
+        private HierarchicalTimingWheel wheel;
+        private Timeout prev;
+        private Timeout next;
+
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+            this.prev = this;
+            this.next = this;
+        }
+
+        /**
+         * Gets the tick upon which the task is due to run.
+         *
+         * @return The tick upon which the task is due to run
+         * @since 1.4
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Returns whether the task has been cancelled.
+         *
+         * @return Whether the task has been cancelled
+         * @since 1.4
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns whether the task has been run.
+         *
+         * @return Whether the task has been run
+         * @since 1.4
+         */
+        public boolean isExpired() {
+            return expired;
+        }
+
+        /**
+         * Cancels the task, preventing it from running.
+         *
+         * @return {@code true} if the task was cancelled; {@code false} if it
+         *     had already run or been cancelled
+         * @since 1.4
+         */
+        public boolean cancel() {
+            if (wheel == null) {
+                return false;
+            }
+            unlink();
+            cancelled = true;
+            wheel.size--;
+            wheel = null;
+            return true;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+
+    }
+
+}
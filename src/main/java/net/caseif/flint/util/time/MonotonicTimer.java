@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pausable timer which measures elapsed time against a monotonic clock in
+ * whole steps of a fixed resolution.
+ *
+ * <p>Unlike counting server ticks, this remains accurate when the server
+ * falls behind its nominal tick rate: a single {@link #poll()} following a
+ * slow tick will report every step which elapsed during it. Fractions of a
+ * step are carried over to subsequent polls.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Max Roncace
+ * @since 1.4
+ */
+public class MonotonicTimer {
+
+    private final Ticker ticker;
+    private final long resolutionNanos;
+
+    private boolean running;
+    private long lastRead;
+    private long carry;
+    private long steps;
+
+    /**
+     * Constructs a new, stopped {@link MonotonicTimer} with the given
+     * resolution, backed by {@link System#nanoTime()}.
+     *
+     * @param resolution The length of a single step
+     * @param unit The {@link TimeUnit} of {@code resolution}
+     * @throws IllegalArgumentException If {@code resolution} is not positive
+     * @since 1.4
+     */
+    public MonotonicTimer(long resolution, TimeUnit unit) throws IllegalArgumentException {
+        this(resolution, unit, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructs a new, stopped {@link MonotonicTimer} with the given
+     * resolution, backed by the given {@link Ticker}.
+     *
+     * @param resolution The length of a single step
+     * @param unit The {@link TimeUnit} of {@code resolution}
+     * @param ticker The {@link Ticker} to read time from
+     * @throws IllegalArgumentException If {@code resolution} is not positive
+     * @since 1.4
+     */
+    public MonotonicTimer(long resolution, TimeUnit unit, Ticker ticker) throws IllegalArgumentException {
+        checkArgument(resolution > 0, "Resolution must be positive");
+        this.resolutionNanos = unit.toNanos(resolution);
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns whether this timer is running.
+     *
+     * @return Whether this timer is running
+     * @since 1.4
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts this timer, if it is not already running.
+     *
+     * @since 1.4
+     */
+    public void start() {
+        if (!running) {
+            running = true;
+            lastRead = ticker.read();
+        }
+    }
+
+    /**
+     * Stops this timer, if it is running. Time elapsed since the last
+     * {@link #poll()} will be reported by the next poll after the timer is
+     * restarted.
+     *
+     * @since 1.4
+     */
+    public void stop() {
+        if (running) {
+            accumulate();
+            running = false;
+        }
+    }
+
+    /**
+     * Returns the number of whole steps which have elapsed since the previous
+     * invocation of this method.
+     *
+     * @return The number of whole steps which have elapsed since the previous
+     *     poll
+     * @since 1.4
+     */
+    public long poll() {
+        if (running) {
+            accumulate();
+        }
+        long elapsed = carry / resolutionNanos;
+        carry -= elapsed * resolutionNanos;
+        steps += elapsed;
+        return elapsed;
+    }
+
+    /**
+     * Gets the total number of steps reported by {@link #poll()} since this
+     * timer was constructed or last {@link #reset() reset}.
+     *
+     * @return The total number of steps reported by this timer
+     * @since 1.4
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Discards all elapsed time, without changing whether this timer is
+     * running.
+     *
+     * @since 1.4
+     */
+    public void reset() {
+        carry = 0;
+        steps = 0;
+        lastRead = ticker.read();
+    }
+
+    private void accumulate() {
+        long now = ticker.read();
+        carry += now - lastRead;
+        lastRead = now;
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import com.google.common.base.Supplier;
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class EventPoolTest {
+
+    @Test
+    public void testReuse() {
+        EventPool<StringBuilder> pool = newPool(1);
+
+        StringBuilder first = pool.acquire();
+        StringBuilder second = pool.acquire();
+        assert first != second;
+        assert pool.getCreatedCount() == 2;
+
+        pool.release(first);
+        pool.release(second); // beyond capacity, so discarded
+        assert pool.getIdleCount() == 1;
+
+        assert pool.acquire() == first;
+        assert pool.getReusedCount() == 1;
+        assert pool.getIdleCount() == 0;
+        assert pool.acquire() != second;
+        assert pool.getCreatedCount() == 3;
+    }
+
+    @Test
+    public void testInvalidRelease() {
+        EventPool<StringBuilder> pool = newPool(4);
+        StringBuilder event = pool.acquire();
+        pool.release(event);
+        try {
+            pool.release(event);
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            pool.release(null);
+            assert false;
+        } catch (NullPointerException ignored) {
+        }
+        assert pool.getIdleCount() == 1;
+    }
+
+    @Test
+    public void testReleasedByBus() {
+        final EventPool<StringBuilder> pool = newPool(4);
+        final FlintEventBus bus = new FlintEventBus();
+        final List<String> received = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            public void onString(String event) {
+                StringBuilder nested = pool.acquire().append("nested");
+                bus.post(nested, pool);
+                // queued until this event has been delivered, so not yet released
+                assert pool.getIdleCount() == 0;
+            }
+
+            @Subscribe
+            public void onBuilder(StringBuilder event) {
+                received.add(event.toString());
+            }
+        });
+
+        bus.post("outer");
+        assert received.equals(Collections.singletonList("nested"));
+        assert pool.getIdleCount() == 1;
+
+        StringBuilder reused = pool.acquire();
+        reused.setLength(0);
+        bus.post(reused.append("direct"), pool);
+        assert received.size() == 2 && received.get(1).equals("direct");
+        assert pool.getIdleCount() == 1;
+        assert pool.getCreatedCount() == 1;
+    }
+
+    @Test
+    public void testPooledAsyncRejected() {
+        EventPool<StringBuilder> pool = newPool(4);
+        FlintEventBus bus = new FlintEventBus();
+        bus.register(new Object() {
+            @Subscribe
+            @AsyncSubscribe
+            public void onBuilder(StringBuilder event) {
+            }
+        });
+        try {
+            bus.post(pool.acquire(), pool);
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+        // released even though it was never delivered
+        assert pool.getIdleCount() == 1;
+        bus.shutdown();
+    }
+
+    @Test
+    public void testPooledDeadEvent() {
+        EventPool<StringBuilder> pool = newPool(4);
+        FlintEventBus bus = new FlintEventBus();
+        final Thread poster = Thread.currentThread();
+        final List<Object> dead = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            @AsyncSubscribe
+            public void onDeadEvent(DeadEvent event) {
+                // the pooled event is reused once released, so it must not be handed off
+                assert Thread.currentThread() == poster;
+                dead.add(event.getEvent());
+            }
+        });
+        StringBuilder event = pool.acquire();
+        bus.post(event, pool);
+        assert dead.equals(Collections.singletonList(event));
+        assert pool.getIdleCount() == 1;
+        bus.shutdown();
+    }
+
+    private static EventPool<StringBuilder> newPool(int capacity) {
+        return new EventPool<>(new Supplier<StringBuilder>() {
+            @Override
+            public StringBuilder get() {
+                return new StringBuilder();
+            }
+        }, capacity);
+    }
+
+}
@@ -0,0 +1,454 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.event;
+
+import net.caseif.flint.minigame.Minigame;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+public class FlintEventBusTest {
+
+    @Test
+    public void testHasSubscribers() {
+        FlintEventBus bus = new FlintEventBus();
+        assert !bus.hasSubscribers(String.class);
+        assert !bus.hasSubscribers(Integer.class);
+
+        NumberListener numbers = new NumberListener();
+        bus.register(numbers);
+        assert bus.hasSubscribers(Integer.class);
+        assert bus.hasSubscribers(Number.class);
+        assert !bus.hasSubscribers(Object.class);
+        assert !bus.hasSubscribers(String.class);
+
+        bus.post(1);
+        bus.post("not a number");
+        assert numbers.received == 1;
+
+        bus.register(new CharSequenceListener());
+        assert bus.hasSubscribers(String.class);
+
+        bus.unregister(numbers);
+        assert !bus.hasSubscribers(Integer.class);
+        assert bus.hasSubscribers(String.class);
+    }
+
+    @Test
+    public void testInheritedSubscriber() {
+        FlintEventBus bus = new FlintEventBus();
+        // both registered instances contribute a subscription, so one unregistration must not hide the other
+        NumberListener first = new NumberListener() {
+        };
+        NumberListener second = new NumberListener();
+        bus.register(first);
+        bus.register(second);
+        bus.unregister(second);
+        assert bus.hasSubscribers(Long.class);
+        bus.post(1L);
+        assert first.received == 1;
+        bus.unregister(first);
+        assert !bus.hasSubscribers(Long.class);
+    }
+
+    @Test
+    public void testDeadEvent() {
+        FlintEventBus bus = new FlintEventBus();
+        final List<Object> dead = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            public void onDeadEvent(DeadEvent event) {
+                dead.add(event.getEvent());
+            }
+        });
+        bus.post("unheard");
+        assert dead.size() == 1 && dead.get(0).equals("unheard");
+    }
+
+    @Test
+    public void testAsyncDeadFlintEvent() {
+        FlintEventBus bus = new FlintEventBus();
+        final Thread poster = Thread.currentThread();
+        final List<Object> dead = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            @AsyncSubscribe
+            public void onDeadEvent(DeadEvent event) {
+                // a live Flint event must not reach the asynchronous lane wrapped in a dead event
+                assert Thread.currentThread() == poster;
+                dead.add(event.getEvent());
+            }
+        });
+        TestEvent event = new TestEvent();
+        bus.post(event);
+        assert dead.size() == 1 && dead.get(0) == event;
+        assert event.snapshots.get() == 0;
+        bus.shutdown();
+    }
+
+    @Test
+    public void testNestedPostOrdering() {
+        final FlintEventBus bus = new FlintEventBus();
+        final List<String> received = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            public void onString(String event) {
+                received.add("first:" + event);
+                if (event.equals("outer")) {
+                    bus.post("inner");
+                }
+            }
+        });
+        bus.register(new Object() {
+            @Subscribe
+            public void onString(String event) {
+                received.add("second:" + event);
+            }
+        });
+        bus.post("outer");
+        // the nested event is only delivered once every subscriber has received the outer one
+        assert received.size() == 4;
+        assert received.get(0).equals("first:outer");
+        assert received.get(1).equals("second:outer");
+        assert received.get(2).equals("first:inner");
+        assert received.get(3).equals("second:inner");
+    }
+
+    @Test
+    public void testFailingSubscriber() {
+        FlintEventBus bus = new FlintEventBus("failing");
+        Logger.getLogger(com.google.common.eventbus.EventBus.class.getName() + ".failing").setLevel(Level.OFF);
+        NumberListener numbers = new NumberListener();
+        bus.register(new Object() {
+            @Subscribe
+            public void onNumber(Integer number) {
+                throw new IllegalStateException();
+            }
+        });
+        bus.register(numbers);
+        bus.post(1);
+        assert numbers.received == 1;
+    }
+
+    @Test
+    public void testUnregisterMissing() {
+        FlintEventBus bus = new FlintEventBus();
+        try {
+            bus.unregister(new NumberListener());
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void testInvalidSubscriberArity() {
+        FlintEventBus bus = new FlintEventBus();
+        try {
+            bus.register(new Object() {
+                @Subscribe
+                public void onEvents(FlintEvent first, FlintEvent second) {
+                }
+            });
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            bus.register(new Object() {
+                @Subscribe
+                public void onNothing() {
+                }
+            });
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void testAsyncSubscriber() throws InterruptedException {
+        FlintEventBus bus = new FlintEventBus("async");
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread poster = Thread.currentThread();
+        final List<Object> received = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            @AsyncSubscribe
+            public void onEvent(SnapshottableEvent event) {
+                synchronized (received) {
+                    received.add(event);
+                }
+                assert Thread.currentThread() != poster;
+                latch.countDown();
+            }
+        });
+
+        TestEvent event = new TestEvent();
+        bus.post(event);
+
+        assert latch.await(5, TimeUnit.SECONDS);
+        // the async subscriber receives the snapshot, which is only taken once
+        assert event.snapshots.get() == 1;
+        synchronized (received) {
+            assert received.contains(event.snapshot);
+            assert !received.contains(event);
+        }
+        bus.shutdown();
+    }
+
+    @Test
+    public void testAsyncMutableSubscriber() throws InterruptedException {
+        FlintEventBus bus = new FlintEventBus("mutable");
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<TestMutableEvent> received = new ArrayList<>();
+        // registered first, but still only handed the event after the synchronous subscriber
+        bus.register(new Object() {
+            @Subscribe
+            @AsyncSubscribe
+            public void onEvent(TestMutableEvent event) {
+                synchronized (received) {
+                    received.add(event);
+                }
+                latch.countDown();
+            }
+        });
+        bus.register(new Object() {
+            @Subscribe
+            public void onEvent(TestMutableEvent event) {
+                event.setValue("modified");
+            }
+        });
+        assert bus.hasSubscribers(TestMutableEvent.class);
+
+        TestMutableEvent event = new TestMutableEvent();
+        bus.post(event);
+        assert event.getValue().equals("modified");
+
+        assert latch.await(5, TimeUnit.SECONDS);
+        synchronized (received) {
+            assert received.size() == 1;
+            TestMutableEvent snapshot = received.get(0);
+            assert snapshot != event;
+            assert snapshot.getValue().equals("modified");
+            try {
+                snapshot.setValue("too late");
+                assert false;
+            } catch (UnsupportedOperationException ignored) {
+            }
+        }
+        bus.shutdown();
+    }
+
+    @Test
+    public void testAsyncLiveSubscriberRejected() {
+        FlintEventBus bus = new FlintEventBus();
+        try {
+            bus.register(new Object() {
+                @Subscribe
+                @AsyncSubscribe
+                public void onEvent(FlintEvent event) {
+                }
+            });
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            bus.register(new Object() {
+                @Subscribe
+                @AsyncSubscribe
+                public void onEvent(Object event) {
+                }
+            });
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+        assert !bus.hasSubscribers(TestEvent.class);
+    }
+
+    @Test
+    public void testCustomExecutor() {
+        final List<Runnable> tasks = new ArrayList<>();
+        FlintEventBus bus = new FlintEventBus("custom", new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+        final int[] received = new int[1];
+        bus.register(new Object() {
+            @Subscribe
+            @AsyncSubscribe
+            public void onString(String event) {
+                received[0]++;
+            }
+        });
+        bus.post("foo");
+        assert received[0] == 0;
+        assert tasks.size() == 1;
+        tasks.get(0).run();
+        assert received[0] == 1;
+    }
+
+    @Test
+    public void testMetrics() throws JMException {
+        FlintEventBus bus = new FlintEventBus("metrics");
+        NumberListener numbers = new NumberListener();
+        bus.register(numbers);
+
+        bus.post(1);
+        assert bus.getListenerMetrics().isEmpty();
+
+        bus.setMetricsEnabled(true);
+        for (int i = 0; i < 10; i++) {
+            bus.post(i);
+        }
+        bus.post(1L);
+        List<ListenerMetrics> metrics = bus.getListenerMetrics();
+        assert metrics.size() == 2;
+        long integerCount = 0;
+        for (ListenerMetrics metric : metrics) {
+            assert metric.getSubscriber().equals(NumberListener.class.getName() + "#onNumber");
+            if (metric.getEventType().equals(Integer.class.getName())) {
+                integerCount = metric.getInvocationCount();
+            }
+            assert metric.getP99TimeNanos() <= metric.getMaxTimeNanos();
+            assert metric.getMaxTimeNanos() <= metric.getTotalTimeNanos();
+        }
+        assert integerCount == 10;
+
+        ObjectName name = bus.registerMBean();
+        try {
+            Object attribute = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ListenerMetrics");
+            assert ((CompositeData[]) attribute).length == 2;
+        } finally {
+            bus.unregisterMBean();
+        }
+        assert !ManagementFactory.getPlatformMBeanServer().isRegistered(name);
+
+        bus.resetMetrics();
+        assert bus.getListenerMetrics().isEmpty();
+    }
+
+    private static class TestEvent implements SnapshottableEvent {
+
+        private final AtomicInteger snapshots = new AtomicInteger();
+        private final TestEvent snapshot = this instanceof Snapshot ? null : new Snapshot();
+
+        @Override
+        public Minigame getMinigame() {
+            return null;
+        }
+
+        @Override
+        public Minigame getOwner() {
+            return null;
+        }
+
+        @Override
+        public FlintEvent snapshot() {
+            snapshots.incrementAndGet();
+            return snapshot;
+        }
+
+        private static class Snapshot extends TestEvent {
+        }
+
+    }
+
+    private static class TestMutableEvent implements MutableEvent, SnapshottableEvent {
+
+        private final boolean snapshot;
+        private String value = "original";
+
+        private TestMutableEvent() {
+            this(false);
+        }
+
+        private TestMutableEvent(boolean snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public Minigame getMinigame() {
+            return null;
+        }
+
+        @Override
+        public Minigame getOwner() {
+            return null;
+        }
+
+        private String getValue() {
+            return value;
+        }
+
+        private void setValue(String value) {
+            if (snapshot) {
+                throw new UnsupportedOperationException();
+            }
+            this.value = value;
+        }
+
+        @Override
+        public TestMutableEvent snapshot() {
+            TestMutableEvent copy = new TestMutableEvent(true);
+            copy.value = value;
+            return copy;
+        }
+
+    }
+
+    public static class NumberListener {
+
+        int received;
+
+        @Subscribe
+        public void onNumber(Number number) {
+            received++;
+        }
+
+    }
+
+    public static class CharSequenceListener {
+
+        @Subscribe
+        public void onCharSequence(CharSequence sequence) {
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.round;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LifecycleStageTest {
+
+    @Test
+    public void testDuration() {
+        LifecycleStage stage = new LifecycleStage("stage", 90);
+        assert stage.getDuration() == 90;
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == 90000;
+        assert stage.getDuration(TimeUnit.MINUTES) == 1;
+    }
+
+    @Test
+    public void testUntimed() {
+        LifecycleStage stage = new LifecycleStage("stage", -1);
+        assert stage.getDuration() == -1;
+        assert stage.getDuration(TimeUnit.SECONDS) == -1;
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == -1;
+
+        // other negative durations are reported as constructed
+        stage = new LifecycleStage("stage", -5);
+        assert stage.getDuration() == -5;
+        assert stage.getDuration(TimeUnit.SECONDS) == -1;
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == -1;
+
+        stage = new LifecycleStage("stage", -5, TimeUnit.SECONDS);
+        assert stage.getDuration() == -5;
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == -1;
+    }
+
+    @Test
+    public void testSubSecondDuration() {
+        LifecycleStage stage = new LifecycleStage("stage", 2750, TimeUnit.MILLISECONDS);
+        assert stage.getDuration() == 2;
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == 2750;
+
+        stage = new LifecycleStage("stage", 500, TimeUnit.MILLISECONDS);
+        assert stage.getDuration() == 0;
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == 500;
+
+        stage = new LifecycleStage("stage", 1500, TimeUnit.MICROSECONDS);
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == 1;
+        assert stage.getDuration(TimeUnit.MICROSECONDS) == 1000;
+
+        // truncating to 0 seconds would make the stage appear timed
+        stage = new LifecycleStage("stage", -500, TimeUnit.MILLISECONDS);
+        assert stage.getDuration() == -1;
+        assert stage.getDuration(TimeUnit.MILLISECONDS) == -1;
+
+        stage = new LifecycleStage("stage", -2500, TimeUnit.MILLISECONDS);
+        assert stage.getDuration() == -2;
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util;
+
+import net.caseif.flint.util.physical.BlockLocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class LongHashSetTest {
+
+    private static final int MARKS = 100000;
+
+    @Test
+    public void testAgainstHashSet() {
+        Random rand = new Random(0);
+        LongHashSet set = new LongHashSet();
+        Set<Long> reference = new HashSet<>();
+        for (int i = 0; i < 200000; i++) {
+            // small range to exercise collisions, removals and zero
+            long value = rand.nextInt(5000) - 2500;
+            switch (rand.nextInt(3)) {
+                case 0:
+                case 1:
+                    assert set.add(value) == reference.add(value);
+                    break;
+                default:
+                    assert set.remove(value) == reference.remove(value);
+                    break;
+            }
+            assert set.size() == reference.size();
+        }
+        for (long value = -2500; value < 2500; value++) {
+            assert set.contains(value) == reference.contains(value);
+        }
+        long[] values = set.toArray();
+        assert values.length == reference.size();
+        for (long value : values) {
+            assert reference.contains(value);
+        }
+        set.clear();
+        assert set.isEmpty();
+        assert !set.contains(0);
+    }
+
+    @Test
+    public void testRollbackMarks() {
+        LongHashSet set = new LongHashSet();
+        // a 100x10x100 region of an arena
+        for (int x = 0; x < 100; x++) {
+            for (int y = 60; y < 70; y++) {
+                for (int z = 0; z < 100; z++) {
+                    assert set.add(BlockLocation.pack(x, y, z));
+                }
+            }
+        }
+        assert set.size() == MARKS;
+        for (int x = 0; x < 100; x++) {
+            for (int z = 0; z < 100; z++) {
+                assert set.contains(BlockLocation.pack(x, 65, z));
+                assert !set.contains(BlockLocation.pack(x, 70, z));
+                assert !set.add(BlockLocation.pack(x, 60, z));
+            }
+        }
+    }
+
+    @Test
+    public void testMemoryFootprint() {
+        LongHashSet set = new LongHashSet();
+        for (int i = 0; i < MARKS; i++) {
+            set.add(BlockLocation.pack(i % 1000, i / 10000, (i / 1000) % 10));
+        }
+        assert set.size() == MARKS;
+
+        // a HashSet<Location3D> costs upwards of 80 bytes per element (48-byte location plus a
+        // 32-byte hash node and its table slot); this set's table must stay well below that
+        long bytesPerMark = (long) set.getCapacity() * 8 / MARKS;
+        assert bytesPerMark <= 24 : bytesPerMark + " bytes per mark";
+
+        LongHashSet presized = new LongHashSet(MARKS);
+        int capacity = presized.getCapacity();
+        for (int i = 0; i < MARKS; i++) {
+            presized.add(i);
+        }
+        assert presized.getCapacity() == capacity;
+    }
+
+}
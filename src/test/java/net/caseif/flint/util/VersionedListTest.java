@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class VersionedListTest {
+
+    @Test
+    public void testSnapshotCaching() {
+        VersionedList<String> list = new VersionedList<>();
+        assert list.snapshot().isEmpty();
+        assert list.getVersion() == 0;
+
+        list.add("foo");
+        list.add("bar");
+        ImmutableList<String> snapshot = list.snapshot();
+        assert snapshot.equals(ImmutableList.of("foo", "bar"));
+        // repeated calls without mutation must not copy
+        assert list.snapshot() == snapshot;
+        assert list.getVersion() == 2;
+
+        assert !list.remove("baz");
+        assert list.snapshot() == snapshot;
+        assert list.getVersion() == 2;
+
+        assert list.remove("foo");
+        assert list.getVersion() == 3;
+        assert list.snapshot() != snapshot;
+        assert list.snapshot().equals(ImmutableList.of("bar"));
+        // earlier snapshots are unaffected
+        assert snapshot.size() == 2;
+    }
+
+    @Test
+    public void testBulkMutations() {
+        VersionedList<Integer> list = new VersionedList<>();
+        list.clear();
+        assert list.getVersion() == 0;
+
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+        assert !list.removeAll(Arrays.asList(7, 8));
+        assert list.removeAll(Arrays.asList(1, 3));
+        assert list.snapshot().equals(ImmutableList.of(0, 2, 4));
+        assert list.size() == 3 && list.contains(2) && !list.contains(3);
+
+        long version = list.getVersion();
+        list.clear();
+        assert list.getVersion() == version + 1;
+        assert list.snapshot().isEmpty();
+    }
+
+    @Test
+    public void testNullElement() {
+        VersionedList<Integer> list = new VersionedList<>();
+        try {
+            list.add(null);
+            assert false;
+        } catch (NullPointerException ignored) {
+            // expected
+        }
+        assert list.getVersion() == 0;
+        assert list.snapshot().isEmpty();
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class BlockLocationTest {
+
+    @Test
+    public void testPacking() {
+        int[][] coords = new int[][] {
+                {0, 0, 0},
+                {1, -1, 1},
+                {-1, 64, -1},
+                {33554431, 2047, 33554431},
+                {-33554432, -2048, -33554432},
+                {29999999, -64, -29999999},
+        };
+        for (int[] c : coords) {
+            long packed = BlockLocation.pack(c[0], c[1], c[2]);
+            assert BlockLocation.unpackX(packed) == c[0];
+            assert BlockLocation.unpackY(packed) == c[1];
+            assert BlockLocation.unpackZ(packed) == c[2];
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        int[][] coords = new int[][] {
+                {33554432, 0, 0},
+                {0, 2048, 0},
+                {0, 0, -33554433},
+        };
+        for (int[] c : coords) {
+            try {
+                BlockLocation.pack(c[0], c[1], c[2]);
+                assert false;
+            } catch (IllegalArgumentException ignored) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testConversion() {
+        BlockLocation block = BlockLocation.of(new Location3D("world", -0.5, 64.9, 10.0));
+        assert block.getWorld().get().equals("world");
+        assert block.getX() == -1;
+        assert block.getY() == 64;
+        assert block.getZ() == 10;
+        assert block.equals(new BlockLocation(new String("world"), -1, 64, 10));
+        assert block.hashCode() == new BlockLocation("world", -1, 64, 10).hashCode();
+        assert !block.equals(new BlockLocation(null, -1, 64, 10));
+        assert block.toLocation3D().equals(new Location3D("world", -1, 64, 10));
+    }
+
+    @Test
+    public void testSortBySection() {
+        Random rand = new Random(0);
+        long[] packed = new long[10000];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = BlockLocation.pack(rand.nextInt(200) - 100, rand.nextInt(384) - 64, rand.nextInt(200) - 100);
+        }
+        long[] expected = packed.clone();
+        BlockLocation.sortBySection(packed);
+
+        long[] sortedExpected = expected.clone();
+        long[] sortedActual = packed.clone();
+        Arrays.sort(sortedExpected);
+        Arrays.sort(sortedActual);
+        assert Arrays.equals(sortedExpected, sortedActual);
+
+        Set<Long> seenSections = new HashSet<>();
+        long lastSection = BlockLocation.getSectionKey(packed[0]);
+        seenSections.add(lastSection);
+        for (long block : packed) {
+            long section = BlockLocation.getSectionKey(block);
+            if (section != lastSection) {
+                assert seenSections.add(section) : "Section is not contiguous";
+                lastSection = section;
+            }
+        }
+
+        long section = BlockLocation.getSectionKey(BlockLocation.pack(-1, -17, 16));
+        assert BlockLocation.unpackX(section) == -1;
+        assert BlockLocation.unpackY(section) == -2;
+        assert BlockLocation.unpackZ(section) == 1;
+    }
+
+}
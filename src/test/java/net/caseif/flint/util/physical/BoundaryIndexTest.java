@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundaryIndexTest {
+
+    @Test
+    public void testGetAt() {
+        BoundaryIndex<String> index = new BoundaryIndex<>(16);
+        index.put("a", new Boundary(new Location3D("world", 0, 0, 0), new Location3D("world", 40, 64, 40)));
+        index.put("b", new Boundary(new Location3D("world", 100, 0, 100), new Location3D("world", 120, 64, 120)));
+        index.put("c", new Boundary(new Location3D("nether", 0, 0, 0), new Location3D("nether", 40, 64, 40)));
+
+        assert index.getAt(new Location3D("world", 20, 10, 20)).get().equals("a");
+        assert index.getAt(new Location3D("world", 110, 10, 110)).get().equals("b");
+        assert index.getAt(new Location3D("nether", 20, 10, 20)).get().equals("c");
+        assert !index.getAt(new Location3D("world", 60, 10, 60)).isPresent();
+        assert !index.getAt(new Location3D("world", 20, 100, 20)).isPresent();
+        assert !index.getAt(new Location3D("end", 20, 10, 20)).isPresent();
+        assert index.getAt(new Location3D(110, 10, 110)).get().equals("b");
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        BoundaryIndex<String> index = new BoundaryIndex<>(16);
+        index.put("a", new Boundary(new Location3D("world", 0, 0, 0), new Location3D("world", 40, 64, 40)));
+        index.put("a", new Boundary(new Location3D("world", -40, 0, -40), new Location3D("world", -1, 64, -1)));
+        assert index.size() == 1;
+        assert !index.getAt(new Location3D("world", 20, 10, 20)).isPresent();
+        assert index.getAt(new Location3D("world", -20, 10, -20)).get().equals("a");
+
+        assert index.remove("a");
+        assert !index.remove("a");
+        assert !index.getAt(new Location3D("world", -20, 10, -20)).isPresent();
+    }
+
+    @Test
+    public void testUnindexed() {
+        BoundaryIndex<String> index = new BoundaryIndex<>(16);
+        index.put("infinite", Boundary.INFINITE);
+        assert index.getAt(new Location3D("world", 1e9, 0, -1e9)).get().equals("infinite");
+        assert index.getIntersecting(new Boundary(new Location3D("world", 0, 0, 0), new Location3D("world", 1, 1, 1)))
+                .contains("infinite");
+    }
+
+    @Test
+    public void testGetIntersecting() {
+        BoundaryIndex<String> index = new BoundaryIndex<>(16);
+        index.put("a", new Boundary(new Location3D("world", 0, 0, 0), new Location3D("world", 40, 64, 40)));
+        index.put("b", new Boundary(new Location3D("world", 100, 0, 100), new Location3D("world", 120, 64, 120)));
+        index.put("c", new Boundary(new Location3D("nether", 0, 0, 0), new Location3D("nether", 40, 64, 40)));
+
+        assert index.getIntersecting(new Boundary(new Location3D("world", 30, 0, 30),
+                new Location3D("world", 105, 5, 105))).size() == 2;
+        assert index.getIntersecting(new Boundary(new Location3D("world", 50, 0, 50),
+                new Location3D("world", 60, 5, 60))).isEmpty();
+        assert index.getIntersecting(new Boundary(new Location3D(30, 0, 30), new Location3D(35, 5, 35))).size() == 2;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.physical;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundaryTest {
+
+    @Test
+    public void testContains() {
+        Boundary bound = new Boundary(new Location3D("world", 10, 0, 10), new Location3D("world", -10, 64, -10));
+        assert bound.contains(new Location3D("world", 0, 32, 0));
+        assert bound.contains("world", 10, 64, -10);
+        assert bound.contains(null, 0, 0, 0);
+        assert bound.contains(0, 0, 0);
+        assert !bound.contains("nether", 0, 0, 0);
+        assert !bound.contains("world", 10.5, 0, 0);
+        assert !bound.contains(0, -1, 0);
+        assert !bound.contains(new Location3D("nether", 0, 32, 0));
+    }
+
+    @Test
+    public void testIntersects() {
+        Boundary bound = new Boundary(new Location3D("world", 0, 0, 0), new Location3D("world", 10, 10, 10));
+        assert bound.intersects(new Boundary(new Location3D("world", 10, 10, 10), new Location3D("world", 20, 20, 20)));
+        assert bound.intersects(Boundary.INFINITE);
+        assert !bound.intersects(new Boundary(new Location3D("world", 11, 0, 0), new Location3D("world", 20, 20, 20)));
+        assert !bound.intersects(new Boundary(new Location3D("nether", 0, 0, 0), new Location3D("nether", 5, 5, 5)));
+    }
+
+}
@@ -26,6 +26,14 @@ package net.caseif.flint.util.physical;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 public class Location3DTest {
 
     @Test
@@ -58,4 +66,184 @@ public class Location3DTest {
         assert des.getZ() == z;
     }
 
+    @Test
+    public void testBinarySerialization() {
+        String world = "caseif is awesome";
+        double x = 42.0;
+        double y = -101.0;
+        double z = 7.43;
+        Location3D loc = new Location3D(world, x, y, z);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        loc.writeTo(buffer);
+        buffer.flip();
+        Location3D des = Location3D.readFrom(buffer);
+        assert !buffer.hasRemaining();
+        assert des.getWorld().isPresent();
+        assert des.getWorld().get().equals(world);
+        assert des.getX() == x;
+        assert des.getY() == y;
+        assert des.getZ() == z;
+    }
+
+    @Test
+    public void testBinarySerializationWithoutWorld() {
+        double x = 42.0;
+        double y = -101.0;
+        double z = 7.43;
+        Location3D loc = new Location3D(x, y, z);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        loc.writeTo(buffer);
+        buffer.flip();
+        Location3D des = Location3D.readFrom(buffer);
+        assert !buffer.hasRemaining();
+        assert !des.getWorld().isPresent();
+        assert des.getX() == x;
+        assert des.getY() == y;
+        assert des.getZ() == z;
+    }
+
+    @Test
+    public void testCodecSerialization() {
+        Location3D[] locs = new Location3D[] {
+                new Location3D("world", 42.0, -101.0, 7.43),
+                new Location3D("world_nether", 1.5, 2.5, 3.5),
+                new Location3D(-0.0, Double.MAX_VALUE, Double.NEGATIVE_INFINITY),
+                new Location3D("world", 0.1, 0.2, 0.3),
+        };
+        LocationCodec codec = new LocationCodec();
+        ByteBuffer records = ByteBuffer.allocate(locs.length * LocationCodec.RECORD_LENGTH);
+        for (Location3D loc : locs) {
+            codec.write(loc, records);
+        }
+        assert !records.hasRemaining();
+        assert codec.getWorlds().size() == 2;
+
+        ByteBuffer table = ByteBuffer.allocate(codec.getWorldTableLength());
+        codec.writeWorldTable(table);
+        assert !table.hasRemaining();
+        table.flip();
+        records.flip();
+
+        LocationCodec decoder = LocationCodec.readWorldTable(table);
+        for (Location3D loc : locs) {
+            assert decoder.read(records).equals(loc);
+        }
+    }
+
+    @Test
+    public void testSerializationRoundTrip() {
+        Random rand = new Random(0);
+        List<Location3D> locs = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            switch (i % 4) {
+                case 0:
+                    locs.add(new Location3D("world", rand.nextInt(60000) - 30000, rand.nextInt(256),
+                            rand.nextInt(60000) - 30000));
+                    break;
+                case 1:
+                    locs.add(new Location3D((rand.nextInt(600000) - 300000) / 100.0, rand.nextInt(2560) / 10.0,
+                            (rand.nextInt(600000) - 300000) / 1000.0));
+                    break;
+                case 2:
+                    locs.add(new Location3D("world", rand.nextDouble() * 1e7 - 5e6, rand.nextGaussian(),
+                            rand.nextDouble() * 1e-4));
+                    break;
+                default:
+                    locs.add(new Location3D("world", Double.longBitsToDouble(rand.nextLong()), -0.0,
+                            Double.NEGATIVE_INFINITY));
+                    break;
+            }
+        }
+        List<String> serials = new ArrayList<>();
+        for (Location3D loc : locs) {
+            serials.add(loc.serialize());
+        }
+        List<Location3D> des = Location3D.deserializeAll(serials);
+        for (int i = 0; i < locs.size(); i++) {
+            Location3D expected = locs.get(i);
+            Location3D actual = des.get(i);
+            assert Double.doubleToLongBits(actual.getX()) == Double.doubleToLongBits(expected.getX());
+            assert Double.doubleToLongBits(actual.getY()) == Double.doubleToLongBits(expected.getY());
+            assert Double.doubleToLongBits(actual.getZ()) == Double.doubleToLongBits(expected.getZ());
+            assert actual.getWorld().equals(expected.getWorld());
+        }
+    }
+
+    @Test
+    public void testTrailingSeparators() {
+        Location3D loc = Location3D.deserialize("(1;2;3;)");
+        assert loc.getX() == 1 && loc.getY() == 2 && loc.getZ() == 3;
+        assert !loc.getWorld().isPresent();
+
+        loc = Location3D.deserialize("(\"world\";1,5;2;3;;)");
+        assert loc.getX() == 1.5 && loc.getY() == 2 && loc.getZ() == 3;
+        assert loc.getWorld().get().equals("world");
+    }
+
+    @Test
+    public void testInvalidSerials() {
+        for (String serial : Arrays.asList("", "()", "(1;2)", "1;2;3", "(1;2;3", "(1;2;3;4)", "(\"world;1;2;3)",
+                "(\"world\";1;2)", "(1;;3)", "(1;2;3,4,5)", "(-;2;3)")) {
+            try {
+                Location3D.deserialize(serial);
+                assert false : serial;
+            } catch (IllegalArgumentException ignored) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testBinaryNegativeWorldLength() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.putShort((short) -2).putDouble(1.0).putDouble(2.0).putDouble(3.0);
+        buffer.flip();
+        try {
+            Location3D.readFrom(buffer);
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMalformedWorldTable() {
+        byte[] name = "world".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer duplicate = ByteBuffer.allocate(64);
+        duplicate.putShort((short) 2);
+        for (int i = 0; i < 2; i++) {
+            duplicate.putShort((short) name.length).put(name);
+        }
+        duplicate.flip();
+        try {
+            LocationCodec.readWorldTable(duplicate);
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+
+        ByteBuffer oversized = ByteBuffer.allocate(2);
+        oversized.putShort((short) (Short.MAX_VALUE + 2));
+        oversized.flip();
+        try {
+            LocationCodec.readWorldTable(oversized);
+            assert false;
+        } catch (IllegalArgumentException ex) {
+            // rejected before reading any entries rather than reported as truncated
+            assert !(ex.getCause() instanceof BufferUnderflowException);
+        }
+    }
+
+    @Test
+    public void testEquality() {
+        Location3D loc = new Location3D(new String("world"), 1.0, 2.0, 0.0);
+        Location3D other = new Location3D(new StringBuilder("wor").append("ld").toString(), 1.0, 2.0, -0.0);
+        assert loc.equals(other);
+        assert loc.hashCode() == other.hashCode();
+        assert !loc.equals(new Location3D("world2", 1.0, 2.0, 0.0));
+        assert !loc.equals(new Location3D(1.0, 2.0, 0.0));
+        assert !loc.equals(new Location3D("world", 1.0, 2.5, 0.0));
+        assert new Location3D(1.0, 2.0, 3.0).equals(new Location3D(1.0, 2.0, 3.0));
+    }
+
 }
@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import net.caseif.flint.util.physical.BlockLocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class MappedRollbackJournalTest {
+
+    private static final int RECORDS = 150000;
+
+    @Test
+    public void testPersistence() throws IOException {
+        Path file = Files.createTempFile("flint-journal", ".dat");
+        Files.delete(file);
+        try {
+            try (MappedRollbackJournal journal = MappedRollbackJournal.open(file)) {
+                for (int i = 0; i < RECORDS; i++) {
+                    journal.append(BlockLocation.pack(i % 100, i / 10000, (i / 100) % 100), i);
+                }
+                assert journal.size() == RECORDS;
+            }
+
+            try (MappedRollbackJournal journal = MappedRollbackJournal.open(file)) {
+                assert journal.size() == RECORDS;
+                final int[] next = new int[1];
+                journal.replay(new RollbackJournal.Visitor() {
+                    @Override
+                    public void visit(long key, long state) {
+                        int i = next[0]++;
+                        assert key == BlockLocation.pack(i % 100, i / 10000, (i / 100) % 100);
+                        assert state == i;
+                    }
+                });
+                assert next[0] == RECORDS;
+
+                next[0] = 70000;
+                journal.replay(new RollbackJournal.Visitor() {
+                    @Override
+                    public void visit(long key, long state) {
+                        assert state == next[0]++;
+                    }
+                }, 70000, 70010);
+                assert next[0] == 70010;
+
+                journal.clear();
+                journal.append(42, 43);
+            }
+
+            try (MappedRollbackJournal journal = MappedRollbackJournal.open(file)) {
+                assert journal.size() == 1;
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        Path file = Files.createTempFile("flint-journal", ".dat");
+        try {
+            Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            try {
+                MappedRollbackJournal.open(file).close();
+                assert false;
+            } catch (IllegalArgumentException ignored) {
+                // expected
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import net.caseif.flint.exception.rollback.RollbackException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelRollbackPreparerTest {
+
+    @Test
+    public void testResultOrder() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            final int n = i;
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    // finish out of order
+                    Thread.sleep((32 - n) % 5);
+                    return n * n;
+                }
+            });
+        }
+        List<Integer> results = ParallelRollbackPreparer.prepareAll(tasks, 4);
+        assert results.size() == 32;
+        for (int i = 0; i < 32; i++) {
+            assert results.get(i) == i * i;
+        }
+    }
+
+    @Test
+    public void testParallelismBound() throws InterruptedException {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final List<Callable<Integer>> bounded = new ArrayList<>();
+        List<Callable<Integer>> wide = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            bounded.add(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    int now = active.incrementAndGet();
+                    while (true) {
+                        int max = maxActive.get();
+                        if (now <= max || maxActive.compareAndSet(max, now)) {
+                            break;
+                        }
+                    }
+                    Thread.sleep(2);
+                    active.decrementAndGet();
+                    return 0;
+                }
+            });
+            wide.add(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    Thread.sleep(2);
+                    return 0;
+                }
+            });
+        }
+        // a concurrent call with greater parallelism must not raise the bound of the first
+        Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ParallelRollbackPreparer.prepareAll(bounded, 2);
+            }
+        });
+        other.start();
+        ParallelRollbackPreparer.prepareAll(wide, 8);
+        other.join();
+        assert maxActive.get() <= 2 : maxActive.get();
+    }
+
+    @Test
+    public void testFailure() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                throw new IOException("Journal is corrupt");
+            }
+        });
+        try {
+            ParallelRollbackPreparer.prepareAll(tasks, 0);
+            assert false;
+        } catch (RollbackException ex) {
+            assert ex.getCause() instanceof IOException;
+        }
+    }
+
+    @Test
+    public void testNullResult() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return null;
+            }
+        });
+        try {
+            ParallelRollbackPreparer.prepareAll(tasks, 2);
+            assert false;
+        } catch (RollbackException ex) {
+            assert ex.getCause() instanceof NullPointerException;
+        }
+    }
+
+}
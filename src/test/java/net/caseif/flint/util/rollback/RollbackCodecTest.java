@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class RollbackCodecTest {
+
+    private static final RollbackCodec[] CODECS = new RollbackCodec[] {RollbackCodecs.LZ4, RollbackCodecs.DEFLATE};
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random rand = new Random(0);
+
+        byte[] random = new byte[70000];
+        rand.nextBytes(random);
+
+        byte[] repetitive = new byte[70000];
+        for (int i = 0; i < repetitive.length; i++) {
+            repetitive[i] = (byte) (i % 7 == 0 ? rand.nextInt(4) : i % 13);
+        }
+
+        byte[] run = new byte[5000];
+        Arrays.fill(run, (byte) 42);
+
+        byte[][] inputs = new byte[][] {new byte[0], new byte[] {1}, "hello hello hello!".getBytes("UTF-8"),
+                random, repetitive, run};
+        for (RollbackCodec codec : CODECS) {
+            for (byte[] input : inputs) {
+                // offset both buffers to make sure offsets are respected
+                byte[] compressed = new byte[codec.maxCompressedLength(input.length) + 3];
+                int length = codec.compress(input, 0, input.length, compressed, 3);
+                assert length <= codec.maxCompressedLength(input.length);
+
+                byte[] output = new byte[input.length + 5];
+                codec.decompress(compressed, 3, length, output, 5, input.length);
+                assert Arrays.equals(Arrays.copyOfRange(output, 5, output.length), input) : codec.getName();
+            }
+
+            byte[] compressed = new byte[codec.maxCompressedLength(run.length)];
+            assert codec.compress(run, 0, run.length, compressed, 0) < run.length / 10 : codec.getName();
+        }
+    }
+
+    @Test
+    public void testMalformed() {
+        byte[] input = new byte[1000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (byte) (i % 10);
+        }
+        for (RollbackCodec codec : CODECS) {
+            byte[] compressed = new byte[codec.maxCompressedLength(input.length)];
+            int length = codec.compress(input, 0, input.length, compressed, 0);
+
+            // wrong expected length
+            assertMalformed(codec, compressed, length, input.length + 1);
+            assertMalformed(codec, compressed, length, input.length - 1);
+            // truncated
+            assertMalformed(codec, compressed, length / 2, input.length);
+        }
+    }
+
+    @Test
+    public void testRegistry() {
+        assert RollbackCodecs.get(RollbackCodecs.LZ4.getId()).get() == RollbackCodecs.LZ4;
+        assert RollbackCodecs.get(RollbackCodecs.DEFLATE.getId()).get() == RollbackCodecs.DEFLATE;
+        assert !RollbackCodecs.get((byte) -1).isPresent();
+
+        // re-registering the same codec is harmless
+        RollbackCodecs.register(RollbackCodecs.LZ4);
+        try {
+            RollbackCodecs.register(new Lz4RollbackCodec());
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    private static void assertMalformed(RollbackCodec codec, byte[] compressed, int length, int expected) {
+        try {
+            codec.decompress(compressed, 0, length, new byte[expected], 0, expected);
+            assert false : codec.getName();
+        } catch (IOException ignored) {
+        }
+    }
+
+}
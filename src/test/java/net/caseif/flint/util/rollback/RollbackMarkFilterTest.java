@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import net.caseif.flint.util.physical.BlockLocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class RollbackMarkFilterTest {
+
+    @Test
+    public void testFirstWriteWins() {
+        Random rand = new Random(0);
+        RollbackMarkFilter filter = new RollbackMarkFilter(10000);
+        Set<Long> reference = new HashSet<>();
+        for (int i = 0; i < 200000; i++) {
+            // simulate repeated explosions within a 40x20x40 crater
+            long key = BlockLocation.pack(rand.nextInt(40), 50 + rand.nextInt(20), rand.nextInt(40));
+            assert filter.mark(key) == reference.add(key);
+        }
+        assert !filter.mark(0) == reference.contains(0L);
+        reference.add(0L);
+        assert !filter.mark(0);
+
+        assert filter.size() == reference.size();
+        for (long key : reference) {
+            assert filter.isMarked(key);
+        }
+        assert !filter.isMarked(BlockLocation.pack(100, 100, 100));
+        assert filter.getAttemptCount() == 200002;
+        assert filter.getDuplicateCount() == filter.getAttemptCount() - reference.size();
+        assert filter.getRecentHitCount() > 0;
+        assert filter.getBloomMissCount() + filter.getFalsePositiveCount() == reference.size();
+        assert filter.getFastPathRate() > 0 && filter.getFastPathRate() <= 1;
+
+        filter.clear();
+        assert filter.size() == 0;
+        assert filter.getAttemptCount() == 0;
+        assert filter.mark(BlockLocation.pack(1, 2, 3));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.rollback;
+
+import static net.caseif.flint.util.rollback.SectionSnapshotWriter.SECTION_VOLUME;
+
+import net.caseif.flint.util.physical.BlockLocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class SectionSnapshotTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random rand = new Random(0);
+        List<long[]> sections = new ArrayList<>();
+        // uniform (e.g. air), few states, over a byte's worth of states, and entirely distinct
+        int[] stateCounts = new int[] {1, 4, 300, SECTION_VOLUME};
+        for (int count : stateCounts) {
+            long[] states = new long[SECTION_VOLUME];
+            for (int i = 0; i < SECTION_VOLUME; i++) {
+                states[i] = count == SECTION_VOLUME ? rand.nextLong() : rand.nextInt(count) * 31L;
+            }
+            sections.add(states);
+        }
+
+        for (RollbackCodec codec : new RollbackCodec[] {RollbackCodecs.LZ4, RollbackCodecs.DEFLATE}) {
+            testRoundTrip(sections, codec);
+        }
+    }
+
+    private void testRoundTrip(List<long[]> sections, RollbackCodec codec) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SectionSnapshotWriter writer = new SectionSnapshotWriter(out, codec)) {
+            for (int i = 0; i < sections.size(); i++) {
+                writer.writeSection(BlockLocation.pack(i, -i, i), sections.get(i));
+            }
+        }
+
+        long[] states = new long[SECTION_VOLUME];
+        try (SectionSnapshotReader reader = new SectionSnapshotReader(new ByteArrayInputStream(out.toByteArray()))) {
+            for (int i = 0; i < sections.size(); i++) {
+                assert reader.readSection(states);
+                assert reader.getSectionKey() == BlockLocation.pack(i, -i, i);
+                assert Arrays.equals(states, sections.get(i));
+            }
+            assert !reader.readSection(states);
+            assert !reader.readSection(states);
+        }
+    }
+
+    @Test
+    public void testInvalidStream() throws IOException {
+        try {
+            new SectionSnapshotReader(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})).close();
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+}
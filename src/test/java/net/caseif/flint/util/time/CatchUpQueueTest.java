@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CatchUpQueueTest {
+
+    @Test
+    public void testDrain() {
+        final CatchUpQueue queue = new CatchUpQueue(3);
+        final List<Integer> run = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            final int id = i;
+            queue.submit(new Runnable() {
+                @Override
+                public void run() {
+                    run.add(id);
+                }
+            });
+        }
+
+        assert queue.drain() == 3;
+        assert queue.drain() == 3;
+        assert queue.drain() == 1;
+        assert queue.drain() == 0;
+        for (int i = 0; i < 7; i++) {
+            assert run.get(i) == i;
+        }
+    }
+
+    @Test
+    public void testNestedSubmit() {
+        final CatchUpQueue queue = new CatchUpQueue(0);
+        final int[] runs = new int[1];
+        queue.submit(new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+                queue.submit(this);
+            }
+        });
+        assert queue.drain() == 1;
+        assert queue.size() == 1;
+        assert queue.drain() == 1;
+        assert runs[0] == 2;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class DeadlineQueueTest {
+
+    @Test
+    public void testOrdering() {
+        DeadlineQueue<Integer> queue = new DeadlineQueue<>();
+        Random rand = new Random(0);
+        List<Long> expected = new ArrayList<>();
+        List<DeadlineQueue.Entry<Integer>> removed = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long deadline = rand.nextInt(200);
+            DeadlineQueue.Entry<Integer> entry = queue.add(deadline, i);
+            if (i % 7 == 0) {
+                removed.add(entry);
+            } else {
+                expected.add(deadline);
+            }
+        }
+        for (DeadlineQueue.Entry<Integer> entry : removed) {
+            assert queue.remove(entry);
+            assert !queue.remove(entry);
+            assert !entry.isQueued();
+        }
+        Collections.sort(expected);
+
+        assert queue.size() == expected.size();
+        long lastDeadline = Long.MIN_VALUE;
+        int lastValue = -1;
+        for (long deadline : expected) {
+            assert queue.peekDeadline() == deadline;
+            DeadlineQueue.Entry<Integer> entry = queue.poll();
+            assert entry.getDeadline() == deadline;
+            assert !entry.isQueued();
+            // ties are broken by insertion order
+            if (deadline == lastDeadline) {
+                assert entry.getValue() > lastValue;
+            }
+            lastDeadline = deadline;
+            lastValue = entry.getValue();
+        }
+        assert queue.isEmpty();
+        assert queue.peekDeadline() == Long.MAX_VALUE;
+        assert queue.peek() == null;
+    }
+
+    @Test
+    public void testEmptyPoll() {
+        try {
+            new DeadlineQueue<String>().poll();
+            assert false;
+        } catch (NoSuchElementException ignored) {
+        }
+    }
+
+    @Test
+    public void testForeignEntry() {
+        DeadlineQueue<String> queue = new DeadlineQueue<>();
+        DeadlineQueue.Entry<String> entry = new DeadlineQueue<String>().add(1, "foo");
+        try {
+            queue.remove(entry);
+            assert false;
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void testClear() {
+        DeadlineQueue<String> queue = new DeadlineQueue<>();
+        DeadlineQueue.Entry<String> entry = queue.add(5, "foo");
+        queue.add(3, "bar");
+        queue.clear();
+        assert queue.isEmpty();
+        assert !entry.isQueued();
+        assert !queue.remove(entry);
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class HierarchicalTimingWheelTest {
+
+    @Test
+    public void testExpiry() {
+        // a deliberately small wheel (span of 64 ticks) so that cascading and parking are exercised
+        final HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(2, 3);
+        Random rand = new Random(0);
+
+        final List<long[]> fired = new ArrayList<>();
+        List<HierarchicalTimingWheel.Timeout> cancelled = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final long delay = rand.nextInt(300);
+            HierarchicalTimingWheel.Timeout timeout = wheel.schedule(delay, new Runnable() {
+                @Override
+                public void run() {
+                    fired.add(new long[] {Math.max(delay, 1), wheel.getCurrentTick()});
+                }
+            });
+            assert timeout.getDeadline() == Math.max(delay, 1);
+            if (i % 10 == 0) {
+                assert timeout.cancel();
+                assert !timeout.cancel();
+                cancelled.add(timeout);
+            }
+        }
+        assert wheel.size() == 1800;
+
+        assert wheel.advance(400) == 1800;
+        assert fired.size() == 1800;
+        for (long[] entry : fired) {
+            assert entry[0] == entry[1] : "Expected expiry at " + entry[0] + " but was " + entry[1];
+        }
+        for (HierarchicalTimingWheel.Timeout timeout : cancelled) {
+            assert timeout.isCancelled() && !timeout.isExpired();
+        }
+        assert wheel.size() == 0;
+    }
+
+    @Test
+    public void testCancelFromTask() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel();
+        final int[] runs = new int[1];
+        final HierarchicalTimingWheel.Timeout[] other = new HierarchicalTimingWheel.Timeout[1];
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+                other[0].cancel();
+            }
+        };
+        HierarchicalTimingWheel.Timeout first = wheel.schedule(100, task);
+        other[0] = wheel.schedule(100, task);
+
+        wheel.advance(100);
+        assert runs[0] == 1;
+        assert first.isExpired() != other[0].isExpired();
+        assert wheel.size() == 0;
+    }
+
+    @Test
+    public void testFailingTask() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel();
+        final int[] runs = new int[1];
+        wheel.schedule(1, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException();
+            }
+        });
+        wheel.schedule(1, new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+            }
+        });
+        try {
+            wheel.advance();
+            assert false;
+        } catch (IllegalStateException ignored) {
+        }
+        assert runs[0] == 1;
+        assert wheel.size() == 0;
+    }
+
+    @Test
+    public void testClear() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel();
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(10000, new Runnable() {
+            @Override
+            public void run() {
+                assert false;
+            }
+        });
+        wheel.clear();
+        assert wheel.size() == 0;
+        assert timeout.isCancelled();
+        assert !timeout.cancel();
+        wheel.advance(10000);
+    }
+
+    @Test
+    public void testClearFromTask() {
+        final HierarchicalTimingWheel wheel = new HierarchicalTimingWheel();
+        final int[] runs = new int[1];
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+                wheel.clear();
+            }
+        };
+        // both expire upon the same tick, so the second has already been taken for the advance when the first runs
+        HierarchicalTimingWheel.Timeout first = wheel.schedule(5, task);
+        HierarchicalTimingWheel.Timeout second = wheel.schedule(5, task);
+        HierarchicalTimingWheel.Timeout later = wheel.schedule(50, task);
+        assert wheel.advance(5) == 1;
+        assert runs[0] == 1;
+        assert wheel.size() == 0;
+        assert first.isExpired() ^ second.isExpired();
+        assert first.isCancelled() ^ second.isCancelled();
+        assert later.isCancelled();
+        assert wheel.advance(100) == 0;
+        assert runs[0] == 1;
+        assert wheel.size() == 0;
+    }
+
+}
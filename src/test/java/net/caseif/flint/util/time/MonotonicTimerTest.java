@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2022, Max Roncace <me@caseif.net>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.caseif.flint.util.time;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MonotonicTimerTest {
+
+    @Test
+    public void testPoll() {
+        FakeTicker ticker = new FakeTicker();
+        MonotonicTimer timer = new MonotonicTimer(50, TimeUnit.MILLISECONDS, ticker);
+
+        ticker.advance(1000);
+        assert timer.poll() == 0; // not yet started
+
+        timer.start();
+        ticker.advance(120);
+        assert timer.poll() == 2;
+        // the remaining 20ms carry over
+        ticker.advance(30);
+        assert timer.poll() == 1;
+
+        // a lagging tick reports every step elapsed during it
+        ticker.advance(1000);
+        assert timer.poll() == 20;
+        assert timer.getSteps() == 23;
+    }
+
+    @Test
+    public void testStop() {
+        FakeTicker ticker = new FakeTicker();
+        MonotonicTimer timer = new MonotonicTimer(1, TimeUnit.SECONDS, ticker);
+        timer.start();
+        ticker.advance(600);
+        timer.stop();
+        assert !timer.isRunning();
+
+        ticker.advance(5000);
+        assert timer.poll() == 0;
+
+        timer.start();
+        ticker.advance(400);
+        assert timer.poll() == 1;
+
+        timer.reset();
+        assert timer.getSteps() == 0;
+        ticker.advance(999);
+        assert timer.poll() == 0;
+    }
+
+    private static class FakeTicker extends Ticker {
+
+        private long nanos;
+
+        private void advance(long millis) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+    }
+
+}